@@ -1,35 +1,119 @@
 package io.openepcis.webvocabulary.converter;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.openepcis.webvocabulary.converter.documentation.DocumentationLevel;
+import io.openepcis.webvocabulary.converter.emitter.SchemaEmitter;
+import io.openepcis.webvocabulary.converter.emitter.SchemaTraversal;
+import io.openepcis.webvocabulary.converter.graph.GraphImplementation;
+import io.openepcis.webvocabulary.converter.io.CompressedStreams;
+import io.openepcis.webvocabulary.converter.io.RdfSyntaxDetector;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import io.openepcis.webvocabulary.converter.pipeline.ConversionHandle;
+import io.openepcis.webvocabulary.converter.pipeline.ConversionPipeline;
+import io.openepcis.webvocabulary.converter.pipeline.ConversionStage;
+import io.openepcis.webvocabulary.converter.pipeline.StageEvent;
 import io.openepcis.webvocabulary.converter.xsd.XSDGenerator;
+import io.openepcis.webvocabulary.converter.xsd.XSDStreamWriter;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.jena.atlas.web.TypedInputStream;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
 import org.apache.jena.rdf.model.*;
+import org.apache.jena.irix.IRIs;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
-import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFParserBuilder;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.PrefixMapFactory;
+import org.apache.jena.riot.system.StreamRDFWrapper;
 import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+import org.apache.jena.system.Txn;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.apache.jena.tdb2.loader.DataLoader;
+import org.apache.jena.tdb2.loader.LoaderFactory;
+import org.apache.jena.tdb2.loader.base.LoaderOps;
+import org.apache.jena.tdb2.sys.TDBInternal;
 import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.apache.jena.vocabulary.SKOS;
+import org.w3c.dom.Element;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 import static io.openepcis.webvocabulary.converter.constant.Constants.*;
 
 @SuppressWarnings("unchecked")
 public class WebVocabularyParser {
     private static final Property SW_TERM_STATUS = ResourceFactory.createProperty("http://www.w3.org/2003/06/sw-vocab-status/ns#", "term_status");
+    private final ObjectMapper objectMapper = new ObjectMapper();
     private Map<Resource, List<Resource>> allUnionClasses = null;
 
+    // XSD generator used for converting the relations, can be configured with root classes before parsing
+    @Getter
+    private final XSDGenerator xsdGenerator;
+
+    // Additional target formats such as JSON Schema emitted concurrently with the XSD from the same traversal of the relations
+    @Getter
+    private final List<SchemaEmitter> schemaEmitters = new ArrayList<>();
+
+    // File onto which the relations among the classes, properties, TypeCodes and linkTypes are written
+    @Getter
+    @Setter
+    private File relationsFile = new File("src/main/resources/schema/JsonLdSchemaRelations.json");
+
+    // In-memory graph implementation into which the vocabulary is loaded
+    @Getter
+    @Setter
+    private GraphImplementation graphImplementation = GraphImplementation.DEFAULT;
+
+    // If true, the in-memory graph is made read-only after loading and before the extraction
+    @Getter
+    @Setter
+    private boolean freezeGraph;
+
+    // If provided, the vocabulary is bulk-loaded into a disk-backed TDB2 dataset within this directory instead of the heap
+    @Getter
+    @Setter
+    private Path tdb2Directory;
+
+    // If true and the TDB2 dataset already contains a vocabulary, then it is reused without loading the input again
+    @Getter
+    @Setter
+    private boolean reuseTdb2Dataset;
+
+    public WebVocabularyParser() {
+        this(new XSDGenerator());
+    }
+
+    public WebVocabularyParser(final XSDGenerator xsdGenerator) {
+        this.xsdGenerator = xsdGenerator;
+    }
+
     /**
-     * Method to get the JSON-LD data and parse it and generate the XSD
+     * Method to get the JSON-LD data and parse it and generate the XSD. The syntax of the contents (JSON-LD, Turtle,
+     * N-Triples, RDF/XML or RDF Thrift) is detected by sniffing the first bytes of the stream, gzip compressed contents
+     * are decompressed while parsing.
      *
      * @param jsonldStream JSON-LD file contents as InputStream
      * @throws IOException                  IOException associated to Jackson
@@ -37,15 +121,30 @@ public class WebVocabularyParser {
      * @throws TransformerException         exception during the building relations
      */
     public void parseJsonLdData(final InputStream jsonldStream) throws IOException, ParserConfigurationException, TransformerException {
-        // Parse JSON-LD using Apache Jena
-        final Model model = ModelFactory.createDefaultModel();
-        RDFDataMgr.read(model, jsonldStream, RDFLanguages.JSONLD);
-        buildRelations(model);
+        final BufferedInputStream bufferedStream = CompressedStreams.decompress(jsonldStream);
+        parseJsonLdData(bufferedStream, RdfSyntaxDetector.detect(bufferedStream));
+    }
+
+    /**
+     * Method to get the vocabulary data in the provided syntax and parse it and generate the XSD, gzip compressed contents
+     * are decompressed while parsing
+     *
+     * @param jsonldStream vocabulary file contents as InputStream
+     * @param lang         syntax of the contents such as Lang.JSONLD, Lang.TURTLE, Lang.NTRIPLES or Lang.RDFTHRIFT
+     * @throws IOException                  IOException associated to Jackson
+     * @throws ParserConfigurationException exception during the parsing of the JSON-LD file contents
+     * @throws TransformerException         exception during the building relations
+     */
+    public void parseJsonLdData(final InputStream jsonldStream, final Lang lang) throws IOException, ParserConfigurationException, TransformerException {
+        // Parse the contents using Apache Jena
+        parse(RDFParser.source(CompressedStreams.decompress(jsonldStream)).lang(lang));
     }
 
 
     /**
-     * Method to get the JSON-LD data URL and parse it and generate the XSD
+     * Method to get the JSON-LD data URL and parse it and generate the XSD. The syntax is detected based on the content
+     * type returned by the server, otherwise based on the file extension and otherwise by sniffing the contents. Files
+     * with the .gz extension and gzip compressed contents are decompressed while parsing.
      *
      * @param jsonldUrl URL of the JSON-LD file
      * @throws IOException                  IOException associated to Jackson
@@ -53,13 +152,267 @@ public class WebVocabularyParser {
      * @throws TransformerException         exception during the building relations
      */
     public void parseJsonLdData(final String jsonldUrl) throws IOException, ParserConfigurationException, TransformerException {
-        // Create a default model
-        final Model model = ModelFactory.createDefaultModel();
+        // Read the content from the URL, the extension based syntax is used if the content type is not conclusive
+        try (final TypedInputStream typedStream = RDFDataMgr.open(jsonldUrl)) {
+            final BufferedInputStream bufferedStream = CompressedStreams.decompress(typedStream);
+            final Lang lang = RdfSyntaxDetector.detect(jsonldUrl, typedStream.getContentType(), bufferedStream);
+            parse(RDFParser.source(bufferedStream).base(IRIs.resolve(jsonldUrl)).lang(lang));
+        }
+    }
+
+    /**
+     * Method to get the vocabulary data URL in the provided syntax and parse it and generate the XSD, compressed contents
+     * are decompressed while parsing
+     *
+     * @param jsonldUrl URL of the vocabulary file
+     * @param lang      syntax of the contents which overrides the content type and file extension
+     * @throws IOException                  IOException associated to Jackson
+     * @throws ParserConfigurationException exception during the parsing of the JSON-LD file contents
+     * @throws TransformerException         exception during the building relations
+     */
+    public void parseJsonLdData(final String jsonldUrl, final Lang lang) throws IOException, ParserConfigurationException, TransformerException {
+        try (final TypedInputStream typedStream = RDFDataMgr.open(jsonldUrl)) {
+            parse(RDFParser.source(CompressedStreams.decompress(typedStream)).base(IRIs.resolve(jsonldUrl)).forceLang(lang));
+        }
+    }
+
+    /**
+     * Method to build the relations and generate the XSD from a TDB2 dataset which has already been loaded, for example
+     * during a previous run with the same tdb2Directory.
+     *
+     * @param dataset TDB2 dataset whose default graph contains the vocabulary
+     * @throws IOException                  IOException associated to Jackson
+     * @throws ParserConfigurationException exception during the parsing of the JSON-LD file contents
+     * @throws TransformerException         exception during the building relations
+     */
+    public void parseDataset(final Dataset dataset) throws IOException, ParserConfigurationException, TransformerException {
+        // Run the complete extraction within a single read transaction to get a consistent view of the dataset
+        dataset.begin(ReadWrite.READ);
+        try {
+            buildRelations(dataset.getDefaultModel());
+        } finally {
+            dataset.end();
+        }
+    }
+
+    /**
+     * Method to build the relations and generate the XSD from the vocabulary which has already been loaded into the TDB2
+     * dataset of the configured tdb2Directory, for example during a previous run, without providing the vocabulary
+     * contents again. The dataset is released after the conversion.
+     *
+     * @throws IOException                  IOException associated to Jackson
+     * @throws ParserConfigurationException exception during the parsing of the JSON-LD file contents
+     * @throws TransformerException         exception during the building relations
+     */
+    public void parseTdb2Dataset() throws IOException, ParserConfigurationException, TransformerException {
+        if (tdb2Directory == null) {
+            throw new IllegalStateException("tdb2Directory has to be configured for converting the vocabulary from the TDB2 dataset");
+        }
+
+        final Dataset dataset = TDB2Factory.connectDataset(tdb2Directory.toString());
+        try {
+            if (Txn.calculateRead(dataset, () -> dataset.getDefaultModel().isEmpty())) {
+                throw new IllegalStateException("No vocabulary has been loaded into the TDB2 dataset " + tdb2Directory);
+            }
+            parseDataset(dataset);
+        } finally {
+            releaseDataset(dataset);
+        }
+    }
+
+    /**
+     * Method to get the vocabulary data and convert it asynchronously. Gzip compressed contents are decompressed, the syntax
+     * of the contents is detected by sniffing the first bytes of the stream and the stages are executed on the common pool.
+     *
+     * @param jsonldStream vocabulary file contents as InputStream
+     * @return returns the handle for tracking the progress and the completion of the conversion
+     * @throws IOException exception during the detection of the syntax
+     */
+    public ConversionHandle parseJsonLdDataAsync(final InputStream jsonldStream) throws IOException {
+        final BufferedInputStream bufferedStream = CompressedStreams.decompress(jsonldStream);
+        return parseJsonLdDataAsync(bufferedStream, RdfSyntaxDetector.detect(bufferedStream), ForkJoinPool.commonPool(), null);
+    }
+
+    /**
+     * Method to get the vocabulary data in the provided syntax and convert it asynchronously. The conversion is modelled
+     * as graph of the stages from ConversionStage: the TypeCodes, linkTypes and classes are extracted concurrently, the
+     * relations file and the XSD types are built as soon as their inputs are available, and the XSD fragments are
+     * streamed to the file in the order of the document. Gzip compressed contents are decompressed within the PARSE stage. The parser must not be used for another conversion until the
+     * returned handle has completed.
+     *
+     * @param jsonldStream       vocabulary file contents as InputStream
+     * @param lang               syntax of the contents such as Lang.JSONLD, Lang.TURTLE, Lang.NTRIPLES or Lang.RDFTHRIFT
+     * @param executor           executor on which the stages are executed
+     * @param progressSubscriber optional subscriber which receives the status changes of all the stages
+     * @return returns the handle for tracking the progress and the completion of the conversion
+     */
+    public ConversionHandle parseJsonLdDataAsync(final InputStream jsonldStream, final Lang lang, final Executor executor,
+                                                 final Flow.Subscriber<? super StageEvent> progressSubscriber) {
+        return convertAsync(() -> RDFParser.source(CompressedStreams.decompress(jsonldStream)).lang(lang), executor, progressSubscriber);
+    }
+
+    // Build the pipeline of the conversion stages, the results are handed over to the dependent stages using the conversion state
+    private ConversionHandle convertAsync(final ParserSource parserSource, final Executor executor, final Flow.Subscriber<? super StageEvent> progressSubscriber) {
+        final AsyncConversion conversion = new AsyncConversion();
+        final ConversionPipeline pipeline = new ConversionPipeline()
+                .stage(ConversionStage.PARSE, () -> {
+                    final RDFParserBuilder parserBuilder = parserSource.open();
+                    if (tdb2Directory == null) {
+                        conversion.graph = loadGraph(parserBuilder);
+                    } else {
+                        conversion.dataset = loadDataset(parserBuilder);
+                    }
+                    conversion.namespaces = read(conversion, model -> model.getGraph().getPrefixMapping().getNsPrefixMap());
+                })
+                .stage(ConversionStage.UNION_CLASSES, () -> allUnionClasses = read(conversion, this::getUnionClassMembers))
+                .stage(ConversionStage.LINK_TYPES, () -> conversion.linkTypes = read(conversion, this::getAllLinkTypes))
+                .stage(ConversionStage.TYPE_CODES, () -> conversion.typeCodes = read(conversion, this::getAllTypeCodes))
+                .stage(ConversionStage.CLASSES, () -> conversion.classes = read(conversion, model -> {
+                    final Map<String, Object> allClassProperties = getAllClassProperties(model);
+                    getUnionDomainProperties(model, allClassProperties);
+                    return allClassProperties;
+                }))
+                .stage(ConversionStage.TYPE_ASSIGNMENT, () -> typeAssigner(conversion.classes, conversion.typeCodes))
+                .stage(ConversionStage.RELATIONS_FILE, () -> writeRelationsFile(conversion.getRelations()))
+                .stage(ConversionStage.XSD_HEADER, () -> conversion.xsdWriter = xsdGenerator.openXSD(conversion.namespaces))
+                .stage(ConversionStage.CLASS_TYPES, () -> conversion.classTypes = xsdGenerator.createClassTypes(
+                        toFragmentDefinition(conversion, Map.of(CLASSES, conversion.classes, TYPE_CODES, conversion.typeCodes))))
+                .stage(ConversionStage.TYPE_CODE_TYPES, () -> {
+                    // Only the names of the classes are required, their properties may still be assigned concurrently
+                    final Map<String, Object> classNames = new LinkedHashMap<>();
+                    conversion.classes.keySet().forEach(className -> classNames.put(className, Collections.emptyMap()));
+                    conversion.typeCodeTypes = xsdGenerator.createTypeCodeTypes(toFragmentDefinition(conversion, Map.of(CLASSES, classNames, TYPE_CODES, conversion.typeCodes)));
+                })
+                .stage(ConversionStage.LINK_TYPE_ENUM, () -> conversion.linkTypeEnum = xsdGenerator.createLinkTypeEnum(
+                        toFragmentDefinition(conversion, Map.of(LINK_TYPES, conversion.linkTypes))))
+                .stage(ConversionStage.WRITE_CLASS_TYPES, () -> {
+                    conversion.xsdWriter.write(conversion.classTypes);
+                    conversion.classTypes = null;
+                })
+                .stage(ConversionStage.WRITE_TYPE_CODE_TYPES, () -> {
+                    conversion.xsdWriter.write(conversion.typeCodeTypes);
+                    conversion.typeCodeTypes = null;
+                })
+                .stage(ConversionStage.WRITE_LINK_TYPE_ENUM, () -> {
+                    // Closing moves the completed XSD into the place of the XSD file
+                    conversion.xsdWriter.write(conversion.linkTypeEnum);
+                    conversion.xsdWriter.close();
+                });
+
+        if (xsdGenerator.getDocumentationFile() != null) {
+            pipeline.stage(ConversionStage.DOCUMENTATION_FILE, () -> xsdGenerator.writeDocumentation(objectMapper.convertValue(conversion.getRelations(), RelationDefinition.class)));
+        }
+
+        // The types reachable from the root classes can only be determined from the complete relations
+        if (isPruning()) {
+            pipeline.dependsOn(ConversionStage.CLASS_TYPES, ConversionStage.LINK_TYPES)
+                    .dependsOn(ConversionStage.TYPE_CODE_TYPES, ConversionStage.TYPE_ASSIGNMENT, ConversionStage.LINK_TYPES)
+                    .dependsOn(ConversionStage.LINK_TYPE_ENUM, ConversionStage.TYPE_ASSIGNMENT);
+        }
+
+        final ConversionHandle handle = pipeline.start(executor, progressSubscriber);
+
+        // Once no stage is running anymore, release the TDB2 dataset and discard the partially written XSD if the conversion
+        // has failed or has been cancelled, the existing XSD file is then left untouched
+        handle.getTermination().whenComplete((result, error) -> {
+            if (conversion.dataset != null) {
+                releaseDataset(conversion.dataset);
+            }
+            if (error != null && conversion.xsdWriter != null) {
+                try {
+                    conversion.xsdWriter.abort();
+                } catch (IOException e) {
+                    error.addSuppressed(e);
+                }
+            }
+        });
+        return handle;
+    }
+
+    // Read from the loaded vocabulary using a model of its own as the stages run concurrently, within a read transaction for TDB2
+    private <T> T read(final AsyncConversion conversion, final Function<Model, T> reader) {
+        if (conversion.dataset != null) {
+            return Txn.calculateRead(conversion.dataset, () -> reader.apply(conversion.dataset.getDefaultModel()));
+        }
+        return reader.apply(ModelFactory.createModelForGraph(conversion.graph));
+    }
+
+    // Relations from which the XSD fragment is built, the pruning requires the complete relations to find the reachable types
+    private RelationDefinition toFragmentDefinition(final AsyncConversion conversion, final Map<String, Object> relations) {
+        return objectMapper.convertValue(isPruning() ? conversion.getRelations() : relations, RelationDefinition.class);
+    }
+
+    private boolean isPruning() {
+        return xsdGenerator.getRootClasses() != null && !xsdGenerator.getRootClasses().isEmpty();
+    }
 
-        // Read JSON-LD content from the URL
-        RDFDataMgr.read(model, jsonldUrl, Lang.JSONLD);
+    // Load the vocabulary into the in-memory model or into the TDB2 dataset based on the storage configuration and build the relations
+    private void parse(final RDFParserBuilder parserBuilder) throws IOException, ParserConfigurationException, TransformerException {
+        if (tdb2Directory == null) {
+            buildRelations(ModelFactory.createModelForGraph(loadGraph(parserBuilder)));
+        } else {
+            final Dataset dataset = loadDataset(parserBuilder);
+            try {
+                parseDataset(dataset);
+            } finally {
+                releaseDataset(dataset);
+            }
+        }
+    }
 
-        buildRelations(model);
+    // Load the vocabulary into the in-memory graph, frozen after loading so that the extraction can only read from it
+    private Graph loadGraph(final RDFParserBuilder parserBuilder) {
+        final Graph graph = graphImplementation.createGraph();
+        parserBuilder.parse(graph);
+        return freezeGraph ? new GraphReadOnly(graph) : graph;
+    }
+
+    // Connect to the TDB2 dataset and load the vocabulary into it unless the already loaded vocabulary can be reused
+    private Dataset loadDataset(final RDFParserBuilder parserBuilder) {
+        final Dataset dataset = TDB2Factory.connectDataset(tdb2Directory.toString());
+        final boolean loaded = Txn.calculateRead(dataset, () -> !dataset.getDefaultModel().isEmpty());
+
+        if (!loaded || !reuseTdb2Dataset) {
+            try {
+                if (loaded) {
+                    Txn.executeWrite(dataset, () -> dataset.getDefaultModel().removeAll());
+                }
+                loadIntoDataset(dataset, parserBuilder);
+            } catch (RuntimeException e) {
+                releaseDataset(dataset);
+                throw e;
+            }
+        }
+        return dataset;
+    }
+
+    // Release the files and the cache of the TDB2 dataset so that the directory can be reused or deleted after the conversion
+    private void releaseDataset(final Dataset dataset) {
+        TDBInternal.expel(dataset.asDatasetGraph());
+    }
+
+    // Bulk load the vocabulary into the default graph of the TDB2 dataset, the loader manages its own transactions
+    private void loadIntoDataset(final Dataset dataset, final RDFParserBuilder parserBuilder) {
+        final DatasetGraph datasetGraph = dataset.asDatasetGraph();
+        final DataLoader dataLoader = LoaderFactory.createLoader(datasetGraph, LoaderOps.outputToLog());
+        final PrefixMap prefixes = PrefixMapFactory.create();
+
+        dataLoader.startBulk();
+        try {
+            // Collect the prefixes from the input as the loaders only store the triples
+            parserBuilder.parse(new StreamRDFWrapper(dataLoader.stream()) {
+                @Override
+                public void prefix(final String prefix, final String iri) {
+                    prefixes.add(prefix, iri);
+                }
+            });
+            dataLoader.finishBulk();
+        } catch (RuntimeException e) {
+            dataLoader.finishException(e);
+            throw e;
+        }
+
+        Txn.executeWrite(dataset, () -> datasetGraph.getDefaultGraph().getPrefixMapping().setNsPrefixes(prefixes.getMappingCopy()));
     }
 
     /**
@@ -72,8 +425,67 @@ public class WebVocabularyParser {
      */
 
     private void buildRelations(final Model model) throws IOException, ParserConfigurationException, TransformerException {
+        final Map<String, Object> jsonLDSchema = extractRelations(model);
 
+        // Retain only the descriptions required by the documentation level within the relations file
+        writeRelationsFile(jsonLDSchema);
 
+        // Convert the build JSON-LD schema relations into XSD without serializing them in between
+        final RelationDefinition relationDefinition = objectMapper.convertValue(jsonLDSchema, RelationDefinition.class);
+        if (schemaEmitters.isEmpty()) {
+            xsdGenerator.generateXSD(relationDefinition);
+        } else {
+            emitSchemas(relationDefinition);
+        }
+    }
+
+    // Traverse the relations once while the XSD generator and the additional emitters write their targets concurrently
+    private void emitSchemas(final RelationDefinition relationDefinition) throws IOException, ParserConfigurationException, TransformerException {
+        final SchemaTraversal schemaTraversal = new SchemaTraversal();
+        schemaTraversal.setRootClasses(xsdGenerator.getRootClasses());
+        schemaTraversal.register(xsdGenerator.newEmitter());
+        schemaEmitters.forEach(schemaTraversal::register);
+
+        try {
+            schemaTraversal.generate(relationDefinition).join();
+        } catch (CompletionException e) {
+            // Rethrow the failure of the emitter as declared by the synchronous conversion
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof TransformerException transformerException) {
+                throw transformerException;
+            } else if (cause instanceof ParserConfigurationException parserConfigurationException) {
+                throw parserConfigurationException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getMessage(), cause);
+        }
+    }
+
+    // Write the relations to the relations file with only the descriptions required by the documentation level, compressed if the file name ends with .gz
+    private void writeRelationsFile(final Map<String, Object> jsonLDSchema) throws IOException {
+        try (final OutputStream outputStream = CompressedStreams.newOutputStream(relationsFile)) {
+            // The relations are streamed directly unless descriptions have to be removed based on the sibling deprecated flag
+            if (xsdGenerator.getDocumentationLevel() == DocumentationLevel.FULL) {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputStream, jsonLDSchema);
+            } else {
+                final JsonNode relationsTree = objectMapper.valueToTree(jsonLDSchema);
+                applyDocumentationLevel(relationsTree, xsdGenerator.getDocumentationLevel());
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputStream, relationsTree);
+            }
+        }
+    }
+
+    /**
+     * Method to extract the relations among Class-Properties, TypeCodes, LinkTypes and the namespaces from the model
+     * without writing any output.
+     *
+     * @param model Apache Jena Model with all RDF/JSON-LD schema contents
+     * @return returns Map with classes, typeCodes, linkTypes and namespaces in the structure of JsonLdSchemaRelations.json
+     */
+    public Map<String, Object> extractRelations(final Model model) {
         // Retrieve the PrefixMapping from the model
         final PrefixMapping prefixMapping = model.getGraph().getPrefixMapping();
         final Map<String, String> namespaces = prefixMapping.getNsPrefixMap();
@@ -104,17 +516,7 @@ public class WebVocabularyParser {
         jsonLDSchema.put(TYPE_CODES, allTypeCodes);
         jsonLDSchema.put(LINK_TYPES, allLinkTypes);
         jsonLDSchema.put(NAMESPACES, namespaces);
-
-        // Build a JSON String and convert to InputStream and finally generate the XSD based on JSON-LD Schema
-        final ObjectMapper objectMapper = new ObjectMapper();
-        final String jsonString = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonLDSchema);
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File("src/main/resources/schema/JsonLdSchemaRelations.json"), jsonLDSchema);
-
-
-        // Convert the build JSON-LD schema relations into XSD
-        final InputStream jsonStream = new ByteArrayInputStream(jsonString.getBytes(StandardCharsets.UTF_8));
-        final XSDGenerator xsdGenerator = new XSDGenerator();
-        xsdGenerator.generateXSD(jsonStream);
+        return jsonLDSchema;
     }
 
     /**
@@ -215,6 +617,7 @@ public class WebVocabularyParser {
                         final String propertyName = codeStmtIterator.nextStatement().getString();
 
                         codeSchema.put(PROPERTY, propertyName);
+                        codeSchema.put(JSONLD_ID, code.getURI());
                         codeSchema.put(RANGE_TYPE, typeCodeName);
                         codeSchema.put(DATA_TYPE, SIMPLE);
                         codeSchema.put(TYPE, CODE);
@@ -326,6 +729,7 @@ public class WebVocabularyParser {
     private void getUnionDomainProperties(final Model model, final Map<String, Object> classProperties) {
         // Get all the union classes
         final List<Resource> resourceList = allUnionClasses.keySet().stream().toList();
+        final Set<List<Object>> modifiedClasses = Collections.newSetFromMap(new IdentityHashMap<>());
 
         // Find the matching property belonging to respective union class
         for (final Resource rs : resourceList) {
@@ -354,11 +758,14 @@ public class WebVocabularyParser {
                 final Map<String, Object> existingClassInfo = (LinkedHashMap<String, Object>) classProperties.get(rrs);
                 final List<Object> existingProperties = (List<Object>) existingClassInfo.get(PROPERTIES);
                 existingProperties.addAll(allProperties);
-
-                // Sort the codes list based on the "property" value of each codeSchema
-                sortMapProperties(existingProperties);
+                modifiedClasses.add(existingProperties);
             }
         }
+
+        // Sort the properties of each modified class only once after all the union properties have been appended
+        for (final List<Object> existingProperties : modifiedClasses) {
+            sortMapProperties(existingProperties);
+        }
     }
 
     /**
@@ -487,6 +894,22 @@ public class WebVocabularyParser {
         return "";
     }
 
+    //Remove the descriptions of classes, properties, TypeCodes and linkTypes which are not required by the documentation level
+    private void applyDocumentationLevel(final JsonNode node, final DocumentationLevel documentationLevel) {
+        if (documentationLevel == DocumentationLevel.FULL) {
+            return;
+        }
+
+        if (node instanceof ObjectNode objectNode && objectNode.has(DESCRIPTION)
+                && !documentationLevel.includes(objectNode.path(DEPRECATED).asBoolean(false))) {
+            objectNode.remove(DESCRIPTION);
+        }
+
+        for (final JsonNode child : node) {
+            applyDocumentationLevel(child, documentationLevel);
+        }
+    }
+
     //Sort the Class-Properties Map based on alphabetically
     private void sortMapProperties(final List<Object> allProperties) {
         allProperties.sort(Comparator.comparing(m -> ((String) ((Map<String, Object>) m).get(PROPERTY))));
@@ -505,4 +928,34 @@ public class WebVocabularyParser {
 
         return DEPRECATED.equalsIgnoreCase(termStatus);
     }
+
+    // Source of the vocabulary which is only opened once the PARSE stage runs
+    @FunctionalInterface
+    private interface ParserSource {
+        RDFParserBuilder open() throws IOException;
+    }
+
+    // Results of the stages of an asynchronous conversion, each field is written by a single stage before its dependents start
+    private static final class AsyncConversion {
+        private Graph graph;
+        private Dataset dataset;
+        private Map<String, String> namespaces;
+        private List<Map<String, Object>> linkTypes;
+        private Map<String, Object> typeCodes;
+        private Map<String, Object> classes;
+        private XSDStreamWriter xsdWriter;
+        private Element classTypes;
+        private Element typeCodeTypes;
+        private Element linkTypeEnum;
+
+        // Relations in the structure of JsonLdSchemaRelations.json
+        private Map<String, Object> getRelations() {
+            final Map<String, Object> relations = new LinkedHashMap<>();
+            relations.put(CLASSES, classes);
+            relations.put(TYPE_CODES, typeCodes);
+            relations.put(LINK_TYPES, linkTypes);
+            relations.put(NAMESPACES, namespaces);
+            return relations;
+        }
+    }
 }
@@ -0,0 +1,567 @@
+package io.openepcis.webvocabulary.converter.codegen;
+
+import io.openepcis.webvocabulary.converter.documentation.DocumentationLevel;
+import io.openepcis.webvocabulary.converter.emitter.SchemaEmitter;
+import io.openepcis.webvocabulary.converter.emitter.SchemaWriter;
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.LinkTypeDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static io.openepcis.webvocabulary.converter.constant.Constants.*;
+
+/**
+ * Emits Java sources directly from the relations as alternative to the XSD, xjc and JAXB path. Every class becomes a
+ * record containing its inherited properties followed by its own, every TypeCode and the linkTypes become enums, every
+ * union range becomes a record with one component per member, and every record gets a reflection-free StAX codec. The
+ * codecs read and write the elements of the XSD generated from the same relations, so the documents are interchangeable
+ * with the ones of the JAXB classes, apart from xsi:type substitution which the records do not support.
+ */
+@Getter
+@Setter
+public class JavaRecordEmitter implements SchemaEmitter {
+
+    private static final String RUNTIME_PACKAGE = "io.openepcis.webvocabulary.converter.runtime";
+    private static final String CODEC_SUFFIX = "Codec";
+    private static final String INDENT = "    ";
+
+    // Name of the lookup map of the generated enums, the constants must not clash with it
+    private static final String VALUES_FIELD = "BY_VALUE";
+
+    // Keywords and literals which cannot be used as identifiers along with the names of the methods of java.lang.Object
+    private static final Set<String> RESERVED_NAMES = Set.of("abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class",
+            "const", "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if", "implements",
+            "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private", "protected", "public", "return", "short",
+            "static", "strictfp", "super", "switch", "synchronized", "this", "throw", "throws", "transient", "try", "void", "volatile", "while",
+            "true", "false", "null", "var", "yield", "record", "sealed", "permits", "_", "clone", "equals", "finalize", "getClass", "hashCode",
+            "notify", "notifyAll", "toString", "wait");
+
+    // Names of the parameters and locals of the generated codecs which the record components must not shadow
+    private static final Set<String> CODEC_NAMES = Set.of("reader", "writer", "value", "elementName", "text", "item", "exception", "INSTANCE");
+
+    // Directory onto which the sources are written within the sub-directories of the package
+    private File outputDirectory = new File("target/generated-sources/records");
+
+    // Package of the generated sources
+    private String packageName = "generated.records";
+
+    // Level of the descriptions which are added as Javadoc of the records and enums
+    private DocumentationLevel documentationLevel = DocumentationLevel.FULL;
+
+    // Kind of value held by a record component, determines its Java type and how the codec converts it
+    private enum Kind {
+        TEXT, INTEGER, FLOAT, BOOLEAN, LANG_STRINGS, RECORD, CODE
+    }
+
+    // Record component along with the element from which it is read
+    private record Component(String elementName, String name, Kind kind, String typeName, boolean deprecated, String description) {
+    }
+
+    // State of the sources being generated event by event, created by startSchema for every traversal
+    private final class Generation implements SchemaWriter {
+        private final RelationDefinition relationDefinition;
+        private final Path packageDirectory;
+        private final Map<Set<String>, String> choiceTypes = new LinkedHashMap<>();
+
+        private Generation(final RelationDefinition relationDefinition, final Path packageDirectory) {
+            this.relationDefinition = relationDefinition;
+            this.packageDirectory = packageDirectory;
+        }
+
+        @Override
+        public void classType(final String className, final ClassDefinition classDefinition) throws IOException {
+            final List<Component> components = new ArrayList<>();
+            final Set<String> names = new HashSet<>(CODEC_NAMES);
+            names.add(ID);
+            for (final PropertyDefinition property : resolveInheritedProperties(className)) {
+                components.add(toComponent(property, uniqueName(identifier(property.getProperty()), names)));
+            }
+
+            final String description = documentationLevel.includes(false) ? classDefinition.getDescription() : null;
+            writeRecord(packageDirectory, typeName(className), description, true, components);
+            writeCodec(packageDirectory, typeName(className), className, true, components);
+        }
+
+        @Override
+        public void typeCode(final String typeCodeName, final List<PropertyDefinition> codes) throws IOException {
+            // The class takes precedence over the TypeCode with the same name, as within the XSD
+            if (isClass(typeCodeName)) {
+                return;
+            }
+            final Map<String, PropertyDefinition> constants = new LinkedHashMap<>();
+            codes.forEach(code -> constants.putIfAbsent(code.getProperty(), code));
+            writeEnum(packageDirectory, typeName(typeCodeName), "Codes of " + typeCodeName, constants.values().stream()
+                    .map(code -> new EnumConstant(code.getProperty(), code.isDeprecated(), code.getDescription())).toList());
+        }
+
+        @Override
+        public void linkTypes(final List<LinkTypeDefinition> linkTypes) throws IOException {
+            writeEnum(packageDirectory, LINK_TYPE_ENUM, "Values of the linkTypes", linkTypes.stream()
+                    .map(linkType -> new EnumConstant(linkType.getLinkTypeId(), linkType.isDeprecated(), linkType.getDescription())).toList());
+        }
+
+        @Override
+        public void endSchema() throws IOException {
+            // The union ranges are collected from all the classes, hence their records are written at the end
+            for (final Map.Entry<Set<String>, String> entry : choiceTypes.entrySet()) {
+                final List<Component> components = new ArrayList<>();
+                final Set<String> names = new HashSet<>(CODEC_NAMES);
+                for (final String member : entry.getKey()) {
+                    final PropertyDefinition property = new PropertyDefinition();
+                    property.setProperty(member);
+                    property.setRangeType(member);
+                    property.setDataType(COMPLEX);
+                    // The components of the members are named as the fields of the xjc choice classes such as geoCoordinates
+                    components.add(toComponent(property, uniqueName(identifier(Character.toLowerCase(member.charAt(0)) + member.substring(1)), names)));
+                }
+                writeRecord(packageDirectory, entry.getValue(), "One of " + String.join(", ", entry.getKey()), false, components);
+                writeCodec(packageDirectory, entry.getValue(), entry.getValue(), false, components);
+            }
+        }
+
+        // Resolve the properties of the class along with the ones inherited through the superClass chain in the order of the XSD elements
+        private List<PropertyDefinition> resolveInheritedProperties(final String className) {
+            final Map<String, ClassDefinition> classes = relationDefinition.getClasses();
+            final Deque<String> hierarchy = new ArrayDeque<>();
+            final Set<String> visited = new HashSet<>();
+            String current = className;
+
+            while (current != null && visited.add(current) && classes.containsKey(current)) {
+                final ClassDefinition classDefinition = classes.get(current);
+                hierarchy.push(current);
+                current = Boolean.TRUE.equals(classDefinition.getIsSubclass()) ? classDefinition.getSuperClass() : null;
+            }
+
+            final Map<String, PropertyDefinition> properties = new LinkedHashMap<>();
+            for (final String declaringClass : hierarchy) {
+                final List<PropertyDefinition> declaredProperties = classes.get(declaringClass).getProperties();
+                if (declaredProperties == null) {
+                    continue;
+                }
+                for (final PropertyDefinition property : declaredProperties) {
+                    final PropertyDefinition existing = properties.putIfAbsent(property.getProperty(), property);
+
+                    // A property declared again within the hierarchy becomes one component, conflicting types cannot be merged
+                    if (existing != null && !(Objects.equals(existing.getDataType(), property.getDataType()) && sameRange(existing, property))) {
+                        throw new IllegalArgumentException("Property " + property.getProperty() + " of class " + declaringClass
+                                + " conflicts with the inherited property within the record " + className);
+                    }
+                }
+            }
+            return new ArrayList<>(properties.values());
+        }
+
+        // Determine the kind and type of the component based on the dataType and rangeType as the XSD type of the element
+        private Component toComponent(final PropertyDefinition property, final String name) {
+            final String description = documentationLevel.includes(property.isDeprecated()) ? property.getDescription() : null;
+            final Object range = property.getRangeType();
+            Kind kind = Kind.TEXT;
+            String typeName = null;
+
+            if (SIMPLE.equals(property.getDataType()) && range instanceof String rangeType) {
+                kind = switch (rangeType) {
+                    case "xsd:integer", "integer" -> Kind.INTEGER;
+                    case "xsd:float", "float" -> Kind.FLOAT;
+                    case "xsd:boolean", "boolean" -> Kind.BOOLEAN;
+                    case LANG_STRING -> Kind.LANG_STRINGS;
+                    // xsd:string, xsd:anyURI, xsd:date, xsd:dateTime and xsd:gYear keep their lexical value
+                    default -> Kind.TEXT;
+                };
+            } else if (COMPLEX.equals(property.getDataType()) && range instanceof String rangeType && !rangeType.equalsIgnoreCase(THING)) {
+                // Thing is xsd:anyType whose text content is kept, unknown ranges are kept as text as well
+                if (isClass(rangeType)) {
+                    kind = Kind.RECORD;
+                    typeName = typeName(rangeType);
+                } else if (relationDefinition.getTypeCodes() != null && relationDefinition.getTypeCodes().containsKey(rangeType)) {
+                    kind = Kind.CODE;
+                    typeName = typeName(rangeType);
+                }
+            } else if (COMPLEX.equals(property.getDataType()) && range instanceof List<?> listOfRanges && !listOfRanges.isEmpty()) {
+                kind = Kind.RECORD;
+                typeName = getChoiceTypeName(listOfRanges);
+            }
+            return new Component(property.getProperty(), name, kind, typeName, property.isDeprecated(), description);
+        }
+
+        // Get the name of the record of the union range, named as the choice type of the XSD such as GeoCoordinatesOrGeoShapeChoice
+        private String getChoiceTypeName(final List<?> listOfRanges) {
+            final Set<String> members = new LinkedHashSet<>();
+            listOfRanges.forEach(o -> members.add(String.valueOf(o)));
+
+            final String existingChoiceType = choiceTypes.get(members);
+            if (existingChoiceType != null) {
+                return existingChoiceType;
+            }
+
+            String choiceTypeName = typeName(String.join("Or", members) + CHOICE_SUFFIX);
+            int counter = 1;
+            while (choiceTypes.containsValue(choiceTypeName) || isClass(choiceTypeName)
+                    || (relationDefinition.getTypeCodes() != null && relationDefinition.getTypeCodes().containsKey(choiceTypeName))) {
+                choiceTypeName = typeName(String.join("Or", members) + CHOICE_SUFFIX + counter++);
+            }
+            choiceTypes.put(members, choiceTypeName);
+            return choiceTypeName;
+        }
+
+        private boolean isClass(final String name) {
+            return relationDefinition.getClasses() != null && relationDefinition.getClasses().containsKey(name);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Java records";
+    }
+
+    @Override
+    public SchemaWriter startSchema(final RelationDefinition relationDefinition) throws IOException {
+        final Path packageDirectory = outputDirectory.toPath().resolve(packageName.replace('.', File.separatorChar));
+        Files.createDirectories(packageDirectory);
+        return new Generation(relationDefinition, packageDirectory);
+    }
+
+    private boolean sameRange(final PropertyDefinition first, final PropertyDefinition second) {
+        if (first.getRangeType() instanceof List<?> firstRanges && second.getRangeType() instanceof List<?> secondRanges) {
+            return new HashSet<>(firstRanges).equals(new HashSet<>(secondRanges));
+        }
+        return Objects.equals(first.getRangeType(), second.getRangeType());
+    }
+
+    // Write the record with the id attribute, if present, followed by the components in the order of the elements
+    private void writeRecord(final Path packageDirectory, final String recordName, final String description, final boolean withId, final List<Component> components) throws IOException {
+        final Set<String> imports = new TreeSet<>();
+        components.forEach(component -> addImports(imports, component, false));
+
+        final StringBuilder source = header(imports);
+        final List<String> parameters = new ArrayList<>();
+        if (description != null && !description.isBlank()) {
+            parameters.add(" * " + javadoc(description));
+            parameters.add(" *");
+        }
+        components.stream().filter(component -> component.description() != null && !component.description().isBlank())
+                .forEach(component -> parameters.add(" * @param " + component.name() + " " + javadoc(component.description())));
+        if (!parameters.isEmpty() && parameters.get(parameters.size() - 1).equals(" *")) {
+            parameters.remove(parameters.size() - 1);
+        }
+        if (!parameters.isEmpty()) {
+            source.append("/**\n");
+            parameters.forEach(line -> source.append(line).append('\n'));
+            source.append(" */\n");
+        }
+
+        final List<String> declarations = new ArrayList<>();
+        if (withId) {
+            declarations.add("String " + ID);
+        }
+        components.forEach(component -> declarations.add((component.deprecated() ? "@Deprecated " : "") + javaType(component) + " " + component.name()));
+        source.append("public record ").append(recordName).append("(");
+        if (declarations.isEmpty()) {
+            source.append(") {\n");
+        } else {
+            source.append('\n');
+            for (int i = 0; i < declarations.size(); i++) {
+                source.append(INDENT).append(INDENT).append(declarations.get(i)).append(i < declarations.size() - 1 ? ",\n" : ") {\n");
+            }
+        }
+
+        // The repeatable components are never null and cannot be modified, as the lists of the JAXB classes are never null
+        final List<Component> lists = components.stream().filter(component -> component.kind() == Kind.LANG_STRINGS).toList();
+        // The records without id are the choice records of which at most one member is present, as within the xsd:choice
+        final boolean choice = !withId && components.size() > 1;
+        if (!lists.isEmpty() || choice) {
+            source.append('\n').append(INDENT).append("public ").append(recordName).append(" {\n");
+            for (final Component component : lists) {
+                source.append(INDENT).append(INDENT).append(component.name()).append(" = ").append(component.name()).append(" != null ? List.copyOf(")
+                        .append(component.name()).append(") : List.of();\n");
+            }
+            if (choice) {
+                line(source, 2, "if (" + String.join(" + ", components.stream().map(component -> "(" + component.name() + " != null ? 1 : 0)").toList()) + " > 1) {");
+                line(source, 3, "throw new IllegalArgumentException(" + literal("Only one of " + String.join(", ", components.stream().map(Component::elementName).toList())
+                        + " is allowed within " + recordName) + ");");
+                line(source, 2, "}");
+            }
+            source.append(INDENT).append("}\n");
+        }
+        source.append("}\n");
+        writeSource(packageDirectory, recordName, source);
+    }
+
+    // Write the codec reading and writing the elements of the record in the order of the xsd:sequence
+    private void writeCodec(final Path packageDirectory, final String recordName, final String xsdTypeName, final boolean withId, final List<Component> components) throws IOException {
+        final String codecName = recordName + CODEC_SUFFIX;
+        final Set<String> imports = new TreeSet<>(Set.of(RUNTIME_PACKAGE + ".XmlCodec", RUNTIME_PACKAGE + ".XmlCodecSupport",
+                "javax.xml.stream.XMLStreamException", "javax.xml.stream.XMLStreamReader", "javax.xml.stream.XMLStreamWriter"));
+        components.forEach(component -> addImports(imports, component, true));
+
+        final StringBuilder source = header(imports);
+        source.append("/**\n * Reflection-free StAX codec of {@link ").append(recordName).append("}, generated along with the record.\n */\n");
+        source.append("public final class ").append(codecName).append(" implements XmlCodec<").append(recordName).append("> {\n\n");
+        source.append(INDENT).append("public static final ").append(codecName).append(" INSTANCE = new ").append(codecName).append("();\n\n");
+        source.append(INDENT).append("private ").append(codecName).append("() {\n").append(INDENT).append("}\n\n");
+
+        // Writer of the attribute and the elements
+        source.append(INDENT).append("@Override\n");
+        source.append(INDENT).append("public void write(final XMLStreamWriter writer, final String elementName, final ").append(recordName)
+                .append(" value) throws XMLStreamException {\n");
+        line(source, 2, "writer.writeStartElement(elementName);");
+        if (withId) {
+            line(source, 2, "if (value.id() != null) {");
+            line(source, 3, "writer.writeAttribute(\"id\", value.id());");
+            line(source, 2, "}");
+        }
+        for (final Component component : components) {
+            final String element = literal(component.elementName());
+            final String accessor = "value." + component.name() + "()";
+            switch (component.kind()) {
+                case TEXT -> line(source, 2, "XmlCodecSupport.writeText(writer, " + element + ", " + accessor + ");");
+                case INTEGER -> line(source, 2, "XmlCodecSupport.writeText(writer, " + element + ", XmlCodecSupport.formatInteger(" + accessor + "));");
+                case FLOAT -> line(source, 2, "XmlCodecSupport.writeText(writer, " + element + ", XmlCodecSupport.formatFloat(" + accessor + "));");
+                case BOOLEAN -> line(source, 2, "XmlCodecSupport.writeText(writer, " + element + ", XmlCodecSupport.formatBoolean(" + accessor + "));");
+                case LANG_STRINGS -> {
+                    line(source, 2, "for (final LangString item : " + accessor + ") {");
+                    line(source, 3, "LangStringCodec.INSTANCE.write(writer, " + element + ", item);");
+                    line(source, 2, "}");
+                }
+                case RECORD -> {
+                    line(source, 2, "if (" + accessor + " != null) {");
+                    line(source, 3, component.typeName() + CODEC_SUFFIX + ".INSTANCE.write(writer, " + element + ", " + accessor + ");");
+                    line(source, 2, "}");
+                }
+                case CODE -> {
+                    line(source, 2, "if (" + accessor + " != null) {");
+                    line(source, 3, "XmlCodecSupport.writeText(writer, " + element + ", " + accessor + ".value());");
+                    line(source, 2, "}");
+                }
+            }
+        }
+        line(source, 2, "writer.writeEndElement();");
+        line(source, 1, "}");
+        source.append('\n');
+
+        // Reader collecting the elements into locals before the record is created
+        source.append(INDENT).append("@Override\n");
+        source.append(INDENT).append("public ").append(recordName).append(" read(final XMLStreamReader reader) throws XMLStreamException {\n");
+        final List<String> arguments = new ArrayList<>();
+        if (withId) {
+            line(source, 2, "final String id = reader.getAttributeValue(null, \"id\");");
+            arguments.add(ID);
+        }
+        for (final Component component : components) {
+            if (component.kind() == Kind.LANG_STRINGS) {
+                line(source, 2, "final List<LangString> " + component.name() + " = new ArrayList<>();");
+            } else {
+                line(source, 2, javaType(component) + " " + component.name() + " = null;");
+            }
+            arguments.add(component.name());
+        }
+        source.append('\n');
+        line(source, 2, "while (XmlCodecSupport.nextChild(reader)) {");
+        line(source, 3, "switch (reader.getLocalName()) {");
+        for (final Component component : components) {
+            final String label = "case " + literal(component.elementName()) + " -> ";
+            switch (component.kind()) {
+                case TEXT -> line(source, 4, label + component.name() + " = reader.getElementText();");
+                case INTEGER -> line(source, 4, label + component.name() + " = XmlCodecSupport.parseInteger(reader, reader.getElementText());");
+                case FLOAT -> line(source, 4, label + component.name() + " = XmlCodecSupport.parseFloat(reader, reader.getElementText());");
+                case BOOLEAN -> line(source, 4, label + component.name() + " = XmlCodecSupport.parseBoolean(reader, reader.getElementText());");
+                case LANG_STRINGS -> line(source, 4, label + component.name() + ".add(LangStringCodec.INSTANCE.read(reader));");
+                case RECORD -> line(source, 4, label + component.name() + " = " + component.typeName() + CODEC_SUFFIX + ".INSTANCE.read(reader);");
+                case CODE -> {
+                    line(source, 4, label + "{");
+                    line(source, 5, "final String text = reader.getElementText();");
+                    line(source, 5, component.name() + " = XmlCodecSupport.requireCode(reader, text, " + component.typeName() + ".fromValue(text), "
+                            + literal(component.typeName()) + ");");
+                    line(source, 4, "}");
+                }
+            }
+        }
+        line(source, 4, "default -> throw XmlCodecSupport.unexpectedElement(reader, " + literal(xsdTypeName) + ");");
+        line(source, 3, "}");
+        line(source, 2, "}");
+        if (withId || components.size() < 2) {
+            line(source, 2, "return new " + recordName + "(" + String.join(", ", arguments) + ");");
+        } else {
+            // The choice record rejects several members, reported along with the location of the choice element
+            line(source, 2, "try {");
+            line(source, 3, "return new " + recordName + "(" + String.join(", ", arguments) + ");");
+            line(source, 2, "} catch (final IllegalArgumentException exception) {");
+            line(source, 3, "throw new XMLStreamException(exception.getMessage(), reader.getLocation());");
+            line(source, 2, "}");
+        }
+        line(source, 1, "}");
+        source.append("}\n");
+        writeSource(packageDirectory, codecName, source);
+    }
+
+    // Constant of a generated enum along with its value within the XML
+    private record EnumConstant(String value, boolean deprecated, String description) {
+    }
+
+    // Write the enum whose constants hold the codes, looked up through a map instead of the reflective Enum.valueOf
+    private void writeEnum(final Path packageDirectory, final String enumName, final String description, final List<EnumConstant> constants) throws IOException {
+        final StringBuilder source = header(new TreeSet<>(Set.of("java.util.HashMap", "java.util.Map")));
+        source.append("/**\n * ").append(javadoc(description)).append("\n */\n");
+        source.append("public enum ").append(enumName).append(" {\n");
+
+        final Set<String> names = new HashSet<>(Set.of(VALUES_FIELD));
+        for (int i = 0; i < constants.size(); i++) {
+            final EnumConstant constant = constants.get(i);
+            if (constant.deprecated()) {
+                if (constant.description() != null && !constant.description().isBlank() && documentationLevel.includes(true)) {
+                    line(source, 1, "/**");
+                    line(source, 1, " * " + javadoc(constant.description()));
+                    line(source, 1, " */");
+                }
+                line(source, 1, "@Deprecated");
+            }
+            line(source, 1, uniqueName(identifier(constant.value()), names) + "(" + literal(constant.value()) + ")" + (i < constants.size() - 1 ? "," : ";"));
+        }
+        if (constants.isEmpty()) {
+            line(source, 1, ";");
+        }
+        source.append('\n');
+        line(source, 1, "private static final Map<String, " + enumName + "> " + VALUES_FIELD + " = new HashMap<>();");
+        source.append('\n');
+        line(source, 1, "static {");
+        line(source, 2, "for (final " + enumName + " code : values()) {");
+        line(source, 3, VALUES_FIELD + ".put(code.value, code);");
+        line(source, 2, "}");
+        line(source, 1, "}");
+        source.append('\n');
+        line(source, 1, "private final String value;");
+        source.append('\n');
+        line(source, 1, enumName + "(final String value) {");
+        line(source, 2, "this.value = value;");
+        line(source, 1, "}");
+        source.append('\n');
+        line(source, 1, "public String value() {");
+        line(source, 2, "return value;");
+        line(source, 1, "}");
+        source.append('\n');
+        line(source, 1, "public static " + enumName + " fromValue(final String value) {");
+        line(source, 2, "return " + VALUES_FIELD + ".get(value);");
+        line(source, 1, "}");
+        source.append("}\n");
+        writeSource(packageDirectory, enumName, source);
+    }
+
+    private void addImports(final Set<String> imports, final Component component, final boolean codec) {
+        if (component.kind() == Kind.INTEGER) {
+            imports.add("java.math.BigInteger");
+        } else if (component.kind() == Kind.LANG_STRINGS) {
+            imports.add(RUNTIME_PACKAGE + ".LangString");
+            imports.add("java.util.List");
+            if (codec) {
+                imports.add(RUNTIME_PACKAGE + ".LangStringCodec");
+                imports.add("java.util.ArrayList");
+            }
+        }
+    }
+
+    private String javaType(final Component component) {
+        return switch (component.kind()) {
+            case TEXT -> "String";
+            case INTEGER -> "BigInteger";
+            case FLOAT -> "Float";
+            case BOOLEAN -> "Boolean";
+            case LANG_STRINGS -> "List<LangString>";
+            case RECORD, CODE -> component.typeName();
+        };
+    }
+
+    // Package declaration followed by the imports, the javax.* and java.* imports after the others as within this repository
+    private StringBuilder header(final Set<String> imports) {
+        final StringBuilder source = new StringBuilder("package ").append(packageName).append(";\n\n");
+        final List<String> otherImports = imports.stream().filter(name -> !name.startsWith("java.") && !name.startsWith("javax.")).toList();
+        final List<String> javaImports = new ArrayList<>(imports.stream().filter(name -> name.startsWith("javax.")).toList());
+        imports.stream().filter(name -> name.startsWith("java.")).forEach(javaImports::add);
+        otherImports.forEach(name -> source.append("import ").append(name).append(";\n"));
+        if (!otherImports.isEmpty() && !javaImports.isEmpty()) {
+            source.append('\n');
+        }
+        javaImports.forEach(name -> source.append("import ").append(name).append(";\n"));
+        if (!imports.isEmpty()) {
+            source.append('\n');
+        }
+        return source;
+    }
+
+    private void writeSource(final Path packageDirectory, final String typeName, final CharSequence source) throws IOException {
+        Files.writeString(packageDirectory.resolve(typeName + ".java"), source, StandardCharsets.UTF_8);
+    }
+
+    private static void line(final StringBuilder source, final int depth, final String text) {
+        source.append(INDENT.repeat(depth)).append(text).append('\n');
+    }
+
+    private static String typeName(final String name) {
+        return identifier(name);
+    }
+
+    // Replace the characters which are not allowed within Java identifiers, such as the - and , of the codes, by _
+    private static String identifier(final String name) {
+        final StringBuilder identifier = new StringBuilder(name.length() + 1);
+        name.codePoints().forEach(c -> identifier.appendCodePoint(Character.isJavaIdentifierPart(c) && c != '$' ? c : '_'));
+        if (identifier.isEmpty() || !Character.isJavaIdentifierStart(identifier.codePointAt(0))) {
+            identifier.insert(0, '_');
+        }
+        return RESERVED_NAMES.contains(identifier.toString()) ? identifier + "_" : identifier.toString();
+    }
+
+    // Append _ until the name is not used yet, for names which differ only in the replaced characters
+    private static String uniqueName(final String name, final Set<String> names) {
+        String uniqueName = name;
+        while (!names.add(uniqueName)) {
+            uniqueName = uniqueName + "_";
+        }
+        return uniqueName;
+    }
+
+    // Escape the value as Java string literal, the non-ASCII characters as unicode escapes
+    private static String literal(final String value) {
+        final StringBuilder literal = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7E) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    // Escape the description for Javadoc, the backslash as entity since the compiler translates unicode escapes within comments
+    private static String javadoc(final String description) {
+        return description.strip().replaceAll("\\s+", " ").replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("*/", "*&#47;").replace("@", "&#64;").replace("\\", "&#92;");
+    }
+}
@@ -30,4 +30,16 @@ public class Constants {
     public static final String DEPRECATED = "deprecated";
     public static final String LANG_STRING = "langString";
     public static final String RANGE_TYPE_LIST = "Range_Type_List";
+    public static final String CHOICE_SUFFIX = "Choice";
+    public static final String LINK_TYPE_ENUM = "LinkTypeEnum";
+    public static final String ID = "id";
+    public static final String INSTANCES = "Instances";
+    public static final String JSONLD_ID = "@id";
+    public static final String JSONLD_TYPE = "@type";
+    public static final String JSONLD_VALUE = "@value";
+    public static final String JSONLD_LANGUAGE = "@language";
+    public static final String JSONLD_GRAPH = "@graph";
+    public static final String JSONLD_CONTEXT = "@context";
+    public static final String LANG_STRING_TYPE = "LangString";
+    public static final String JSON_SCHEMA_DIALECT = "https://json-schema.org/draft/2020-12/schema";
 }
@@ -0,0 +1,25 @@
+package io.openepcis.webvocabulary.converter.documentation;
+
+/**
+ * Level of the descriptions that are kept inline within the generated XSD and JsonLdSchemaRelations.json
+ */
+public enum DocumentationLevel {
+    // Descriptions of the classes and the deprecated properties, TypeCodes and linkTypes
+    FULL,
+
+    // Descriptions only for the deprecated properties, TypeCodes and linkTypes
+    DEPRECATED_ONLY,
+
+    // No descriptions at all
+    NONE;
+
+    /**
+     * Method to check if the description of an entry should be kept inline based on the documentation level
+     *
+     * @param deprecated true if the entry is marked as deprecated within the JSON-LD schema
+     * @return returns true if the description needs to be retained
+     */
+    public boolean includes(final boolean deprecated) {
+        return this == FULL || (this == DEPRECATED_ONLY && deprecated);
+    }
+}
@@ -0,0 +1,86 @@
+package io.openepcis.webvocabulary.converter.documentation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.io.CompressedStreams;
+import io.openepcis.webvocabulary.converter.model.DocumentationDefinition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lookup for the descriptions externalized from the XSD, the documentation file is only read on first access.
+ */
+public class DocumentationLookup {
+
+    private final DocumentationSource documentationSource;
+    private volatile DocumentationDefinition documentationDefinition;
+
+    @FunctionalInterface
+    public interface DocumentationSource {
+        InputStream open() throws IOException;
+    }
+
+    public DocumentationLookup(final DocumentationSource documentationSource) {
+        this.documentationSource = documentationSource;
+    }
+
+    public DocumentationLookup(final Path documentationFile) {
+        this(() -> CompressedStreams.newInputStream(documentationFile));
+    }
+
+    /**
+     * Method to get the description of the class, TypeCode or LinkTypeEnum
+     *
+     * @param typeName name of the type whose description needs to be found
+     * @return returns the description if present
+     */
+    public Optional<String> getDescription(final String typeName) {
+        return Optional.ofNullable(getDocumentation().getTypes().get(typeName));
+    }
+
+    /**
+     * Method to get the description of the property, TypeCode value or linkType belonging to a type
+     *
+     * @param typeName     name of the type to which the property belongs
+     * @param propertyName name of the property whose description needs to be found
+     * @return returns the description if present
+     */
+    public Optional<String> getDescription(final String typeName, final String propertyName) {
+        return Optional.ofNullable(getDocumentation().getProperties().get(typeName))
+                .map(properties -> properties.get(propertyName));
+    }
+
+    /**
+     * Method to get all the property descriptions of a type
+     *
+     * @param typeName name of the type whose property descriptions are required
+     * @return returns the descriptions keyed by property name, empty if the type is not present
+     */
+    public Map<String, String> getPropertyDescriptions(final String typeName) {
+        return getDocumentation().getProperties().getOrDefault(typeName, Map.of());
+    }
+
+    // Read the documentation file lazily and only once
+    private DocumentationDefinition getDocumentation() {
+        DocumentationDefinition documentation = documentationDefinition;
+
+        if (documentation == null) {
+            synchronized (this) {
+                documentation = documentationDefinition;
+                if (documentation == null) {
+                    try (final InputStream inputStream = documentationSource.open()) {
+                        documentation = new ObjectMapper().readValue(inputStream, DocumentationDefinition.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Unable to read the documentation file", e);
+                    }
+                    documentationDefinition = documentation;
+                }
+            }
+        }
+        return documentation;
+    }
+}
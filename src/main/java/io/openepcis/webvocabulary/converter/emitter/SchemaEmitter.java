@@ -0,0 +1,29 @@
+package io.openepcis.webvocabulary.converter.emitter;
+
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+
+/**
+ * Target format generated from the relations of the vocabulary such as XSD or JSON Schema. The {@link SchemaTraversal}
+ * walks the relations once and starts a {@link SchemaWriter} on every registered emitter which receives the events of
+ * that traversal in the order classType for each class, typeCode for each TypeCode, linkTypes and endSchema. The calls
+ * for one writer are never concurrent, but different writers are called concurrently, so each writer writes to its own
+ * sink and keeps its own state. The emitter itself only holds the configuration and can be used by several traversals.
+ */
+public interface SchemaEmitter {
+
+    /**
+     * Method to get the name of the emitter used for reporting its failures
+     *
+     * @return returns the name of the target format such as XSD
+     */
+    String getName();
+
+    /**
+     * Method to start a new schema, called once per traversal before all the other events
+     *
+     * @param relationDefinition complete relations being traversed, for looking up the referenced types
+     * @return returns the writer holding the state of the traversal which receives the following events
+     * @throws Exception exception during the opening of the sink
+     */
+    SchemaWriter startSchema(RelationDefinition relationDefinition) throws Exception;
+}
@@ -0,0 +1,64 @@
+package io.openepcis.webvocabulary.converter.emitter;
+
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.LinkTypeDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+
+import java.util.List;
+
+/**
+ * Event produced by the single traversal of the relations and delivered to every registered {@link SchemaEmitter}.
+ */
+sealed interface SchemaEvent {
+
+    /**
+     * Method to invoke the callback corresponding to the event, the start of the schema on the emitter and all the
+     * other events on the writer started by it
+     *
+     * @param emitter emitter receiving the events
+     * @param writer  writer of the traversal, null before the schema is started
+     * @return returns the writer receiving the following events
+     * @throws Exception exception thrown by the emitter or the writer
+     */
+    SchemaWriter dispatch(SchemaEmitter emitter, SchemaWriter writer) throws Exception;
+
+    record StartSchema(RelationDefinition relationDefinition) implements SchemaEvent {
+        @Override
+        public SchemaWriter dispatch(final SchemaEmitter emitter, final SchemaWriter writer) throws Exception {
+            return emitter.startSchema(relationDefinition);
+        }
+    }
+
+    record ClassType(String className, ClassDefinition classDefinition) implements SchemaEvent {
+        @Override
+        public SchemaWriter dispatch(final SchemaEmitter emitter, final SchemaWriter writer) throws Exception {
+            writer.classType(className, classDefinition);
+            return writer;
+        }
+    }
+
+    record TypeCode(String typeCodeName, List<PropertyDefinition> codes) implements SchemaEvent {
+        @Override
+        public SchemaWriter dispatch(final SchemaEmitter emitter, final SchemaWriter writer) throws Exception {
+            writer.typeCode(typeCodeName, codes);
+            return writer;
+        }
+    }
+
+    record LinkTypes(List<LinkTypeDefinition> linkTypes) implements SchemaEvent {
+        @Override
+        public SchemaWriter dispatch(final SchemaEmitter emitter, final SchemaWriter writer) throws Exception {
+            writer.linkTypes(linkTypes);
+            return writer;
+        }
+    }
+
+    record EndSchema() implements SchemaEvent {
+        @Override
+        public SchemaWriter dispatch(final SchemaEmitter emitter, final SchemaWriter writer) throws Exception {
+            writer.endSchema();
+            return writer;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package io.openepcis.webvocabulary.converter.emitter;
+
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import io.openepcis.webvocabulary.converter.xsd.RelationPruner;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Walks the relations of the vocabulary once and delivers the resulting events to all the registered emitters. Every
+ * emitter consumes the events on its own task of the executor through a bounded buffer, so the emitters run
+ * concurrently with each other and with the traversal, and a slow emitter only holds back the traversal once its buffer
+ * is full. Adding a target format therefore costs only its own emitting and writing work.
+ */
+public class SchemaTraversal {
+
+    private final Executor executor;
+
+    private final List<SchemaEmitter> emitters = new ArrayList<>();
+
+    // Root classes whose transitive closure is traversed, if empty then all the classes are traversed
+    @Getter
+    @Setter
+    private Set<String> rootClasses = new HashSet<>();
+
+    public SchemaTraversal() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SchemaTraversal(final Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Method to register an emitter which receives the events of every subsequent traversal
+     *
+     * @param emitter emitter writing the target format to its own sink
+     * @return returns this traversal for chaining the registrations
+     */
+    public SchemaTraversal register(final SchemaEmitter emitter) {
+        emitters.add(emitter);
+        return this;
+    }
+
+    /**
+     * Method to traverse the relations and emit all the registered target formats. The traversal itself runs on the
+     * calling thread, the emitters run on the executor.
+     *
+     * @param relations relations among the classes, properties, TypeCodes and linkTypes
+     * @return returns the future completed once all the emitters have finished, or completed exceptionally with the
+     * failure of the first failing emitter wrapped in a CompletionException. The other emitters are still completed.
+     */
+    public CompletableFuture<Void> generate(final RelationDefinition relations) {
+        if (emitters.isEmpty()) {
+            throw new IllegalArgumentException("No emitter is registered for the traversal");
+        }
+
+        // Retain only the types reachable from the root classes, if any provided
+        final RelationDefinition relationDefinition = RelationPruner.prune(relations, rootClasses);
+
+        final List<CompletableFuture<Void>> completions = new ArrayList<>();
+        try (final SubmissionPublisher<SchemaEvent> publisher = new SubmissionPublisher<>(executor, Flow.defaultBufferSize())) {
+            for (final SchemaEmitter emitter : emitters) {
+                final EmitterSubscriber subscriber = new EmitterSubscriber(emitter);
+                publisher.subscribe(subscriber);
+                completions.add(subscriber.completion);
+            }
+
+            // Blocks only while the buffer of a subscriber is full, the failed emitters have already cancelled their subscription
+            try {
+                walk(relationDefinition, publisher::submit);
+            } catch (RuntimeException e) {
+                publisher.closeExceptionally(e);
+                throw e;
+            }
+        }
+        return CompletableFuture.allOf(completions.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Method to traverse the relations and deliver the events directly to the single emitter on the calling thread, in
+     * the same order as for the registered emitters. The relations are not pruned, the writer is aborted on failure.
+     *
+     * @param relationDefinition relations among the classes, properties, TypeCodes and linkTypes
+     * @param emitter            emitter writing the target format to its own sink
+     * @throws Exception exception thrown by the emitter
+     */
+    public static void traverse(final RelationDefinition relationDefinition, final SchemaEmitter emitter) throws Exception {
+        final SchemaWriter[] writer = new SchemaWriter[1];
+        try {
+            walk(relationDefinition, event -> writer[0] = event.dispatch(emitter, writer[0]));
+        } catch (Exception e) {
+            if (writer[0] != null) {
+                writer[0].abort(e);
+            }
+            throw e;
+        }
+    }
+
+    // Walk the relations in the order of the events documented on the SchemaEmitter
+    private static <E extends Exception> void walk(final RelationDefinition relationDefinition, final EventSink<E> events) throws E {
+        events.accept(new SchemaEvent.StartSchema(relationDefinition));
+
+        if (relationDefinition.getClasses() != null) {
+            for (Map.Entry<String, ClassDefinition> entry : relationDefinition.getClasses().entrySet()) {
+                events.accept(new SchemaEvent.ClassType(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        if (relationDefinition.getTypeCodes() != null) {
+            for (Map.Entry<String, List<PropertyDefinition>> entry : relationDefinition.getTypeCodes().entrySet()) {
+                events.accept(new SchemaEvent.TypeCode(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        events.accept(new SchemaEvent.LinkTypes(relationDefinition.getLinkTypes() != null ? relationDefinition.getLinkTypes() : List.of()));
+        events.accept(new SchemaEvent.EndSchema());
+    }
+
+    // Receiver of the events of the traversal, either the publisher or a single emitter
+    @FunctionalInterface
+    private interface EventSink<E extends Exception> {
+        void accept(SchemaEvent event) throws E;
+    }
+
+    // Delivers the events to the writer started by a single emitter, one at a time on the consumer task of the publisher
+    private static final class EmitterSubscriber implements Flow.Subscriber<SchemaEvent> {
+        private final SchemaEmitter emitter;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private SchemaWriter writer;
+
+        private EmitterSubscriber(final SchemaEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final SchemaEvent event) {
+            if (completion.isDone()) {
+                return;
+            }
+            try {
+                writer = event.dispatch(emitter, writer);
+            } catch (Exception e) {
+                // Stop receiving the events so that the traversal and the other emitters are not held back
+                subscription.cancel();
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            if (!completion.isDone()) {
+                fail(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+
+        private void fail(final Throwable cause) {
+            if (writer != null) {
+                writer.abort(cause);
+            }
+            completion.completeExceptionally(new CompletionException("Failed to emit the " + emitter.getName() + " schema", cause));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.openepcis.webvocabulary.converter.emitter;
+
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.LinkTypeDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+
+import java.util.List;
+
+/**
+ * Writer of a single schema started by {@link SchemaEmitter#startSchema}, receives the events of one traversal and keeps
+ * the state of the schema being written such as the open sink.
+ */
+public interface SchemaWriter {
+
+    /**
+     * Method to emit the type of a class
+     *
+     * @param className       name of the class such as Product
+     * @param classDefinition superClass, description and properties of the class
+     * @throws Exception exception during the emitting of the type
+     */
+    void classType(String className, ClassDefinition classDefinition) throws Exception;
+
+    /**
+     * Method to emit the type of a TypeCode, called after all the classes
+     *
+     * @param typeCodeName name of the TypeCode such as NonbinaryLogicCode
+     * @param codes        codes of the TypeCode
+     * @throws Exception exception during the emitting of the type
+     */
+    void typeCode(String typeCodeName, List<PropertyDefinition> codes) throws Exception;
+
+    /**
+     * Method to emit the linkTypes, called once after all the TypeCodes
+     *
+     * @param linkTypes linkTypes of the vocabulary, empty if none are present
+     * @throws Exception exception during the emitting of the type
+     */
+    void linkTypes(List<LinkTypeDefinition> linkTypes) throws Exception;
+
+    /**
+     * Method to finish the schema and close the sink, called once after all the other events
+     *
+     * @throws Exception exception during the writing or closing of the sink
+     */
+    void endSchema() throws Exception;
+
+    /**
+     * Method to release the sink when the writer or the traversal has failed, called instead of endSchema
+     *
+     * @param cause failure of the writer or the traversal
+     */
+    default void abort(final Throwable cause) {
+    }
+}
@@ -0,0 +1,39 @@
+package io.openepcis.webvocabulary.converter.graph;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.mem2.GraphMem2Fast;
+import org.apache.jena.mem2.GraphMem2Legacy;
+import org.apache.jena.mem2.GraphMem2Roaring;
+
+/**
+ * In-memory Apache Jena graph implementations which can be used for loading the vocabulary. The extraction is read-heavy
+ * (listSubjectsWithProperty, listStatements, getProperty) against a graph which is written only once.
+ */
+public enum GraphImplementation {
+    // Jena default graph (GraphMem with value based term equality)
+    DEFAULT,
+
+    // GraphMem2 with the legacy hash based triple store
+    GRAPH_MEM2_LEGACY,
+
+    // GraphMem2 with the fast hash based triple store, good balance of loading and lookup performance
+    GRAPH_MEM2_FAST,
+
+    // GraphMem2 with roaring bitmap indexes, fastest pattern matching at the cost of slower loading and more memory
+    GRAPH_MEM2_ROARING;
+
+    /**
+     * Method to create a new empty graph of the implementation
+     *
+     * @return returns the created graph
+     */
+    public Graph createGraph() {
+        return switch (this) {
+            case DEFAULT -> GraphMemFactory.createDefaultGraph();
+            case GRAPH_MEM2_LEGACY -> new GraphMem2Legacy();
+            case GRAPH_MEM2_FAST -> new GraphMem2Fast();
+            case GRAPH_MEM2_ROARING -> new GraphMem2Roaring();
+        };
+    }
+}
@@ -0,0 +1,310 @@
+package io.openepcis.webvocabulary.converter.instance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.io.CompressedStreams;
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.openepcis.webvocabulary.converter.constant.Constants.*;
+
+/**
+ * Element layout of the instance documents conforming to the generated XSD. For every class the properties are listed in
+ * the order of the xsd:sequence including the inherited ones, i.e. the properties of the base class come first as in
+ * xsd:extension. All the layouts are computed upfront so that the schema can be shared by concurrent conversions. The
+ * element layout is the same for the XSD with xsd:extension and the flattened one, only the latter does not allow the
+ * values of subclasses to be substituted using xsi:type.
+ */
+@Getter
+public class InstanceSchema {
+
+    // Kind of the property which decides how the value is written
+    public enum PropertyKind {
+        // langString values written as LangString with xml:lang
+        LANG_STRING,
+
+        // simple XSD types such as xsd:string, xsd:date written as text
+        SIMPLE,
+
+        // TypeCode values written as the code
+        CODE,
+
+        // Nested class instance
+        CLASS,
+
+        // Union of classes written as the named choice type with the member type as nested element
+        CHOICE,
+
+        // Thing range written as xsd:anyType
+        ANY
+    }
+
+    @Getter
+    public static final class PropertyLayout {
+        private final PropertyDefinition definition;
+        private final PropertyKind kind;
+        private final int index;
+        private final List<String> rangeTypes;
+
+        private PropertyLayout(final PropertyDefinition definition, final PropertyKind kind, final int index, final List<String> rangeTypes) {
+            this.definition = definition;
+            this.kind = kind;
+            this.index = index;
+            this.rangeTypes = rangeTypes;
+        }
+
+        public String getName() {
+            return definition.getProperty();
+        }
+    }
+
+    @Getter
+    public static final class ClassLayout {
+        private final String name;
+        private final List<PropertyLayout> properties;
+        private final Map<String, PropertyLayout> propertiesByName;
+
+        private ClassLayout(final String name, final List<PropertyLayout> properties) {
+            this.name = name;
+            this.properties = Collections.unmodifiableList(properties);
+
+            final Map<String, PropertyLayout> byName = new HashMap<>();
+            properties.forEach(property -> byName.putIfAbsent(property.getName(), property));
+            this.propertiesByName = Collections.unmodifiableMap(byName);
+        }
+
+        /**
+         * Method to find the property of the class including the inherited ones
+         *
+         * @param propertyName local name of the property such as gtin
+         * @return returns the property layout or null if the property does not belong to the class
+         */
+        public PropertyLayout getProperty(final String propertyName) {
+            return propertiesByName.get(propertyName);
+        }
+    }
+
+    private final RelationDefinition relationDefinition;
+    private final Map<String, ClassLayout> classes;
+
+    // If true, the XSD has been generated with the flattened hierarchy whose types are not derived from each other
+    private final boolean flattenHierarchy;
+
+    // IRIs of the codes per TypeCode and the codes per TypeCode by the local name of their IRI
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Map<String, String>> codeIris = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Map<String, String>> codesByLocalName = new HashMap<>();
+
+    public InstanceSchema(final RelationDefinition relationDefinition) {
+        this(relationDefinition, false);
+    }
+
+    public InstanceSchema(final RelationDefinition relationDefinition, final boolean flattenHierarchy) {
+        this.relationDefinition = relationDefinition;
+        this.flattenHierarchy = flattenHierarchy;
+
+        final Map<String, ClassLayout> layouts = new LinkedHashMap<>();
+        if (relationDefinition.getClasses() != null) {
+            relationDefinition.getClasses().keySet().forEach(className -> layouts.put(className, createLayout(className)));
+        }
+        this.classes = Collections.unmodifiableMap(layouts);
+
+        if (relationDefinition.getTypeCodes() != null) {
+            relationDefinition.getTypeCodes().forEach((codeList, codes) -> codes.stream().filter(code -> code.getId() != null).forEach(code -> {
+                codeIris.computeIfAbsent(codeList, k -> new HashMap<>()).put(code.getProperty(), code.getId());
+                codesByLocalName.computeIfAbsent(codeList, k -> new HashMap<>()).put(localName(code.getId()), code.getProperty());
+            }));
+        }
+    }
+
+    /**
+     * Method to read the instance schema from the relations JSON generated by WebVocabularyParser
+     *
+     * @param relationsInputStream stream of the JsonLdSchemaRelations.json contents, optionally gzip compressed
+     * @return returns the instance schema
+     * @throws IOException exception during the reading of the relations
+     */
+    public static InstanceSchema fromRelations(final InputStream relationsInputStream) throws IOException {
+        return fromRelations(relationsInputStream, false);
+    }
+
+    /**
+     * Method to read the instance schema from the relations JSON for the XSD generated in the provided hierarchy mode
+     *
+     * @param relationsInputStream stream of the JsonLdSchemaRelations.json contents, optionally gzip compressed
+     * @param flattenHierarchy     true if the XSD has been generated with XSDGenerator.setFlattenHierarchy(true)
+     * @return returns the instance schema
+     * @throws IOException exception during the reading of the relations
+     */
+    public static InstanceSchema fromRelations(final InputStream relationsInputStream, final boolean flattenHierarchy) throws IOException {
+        return new InstanceSchema(new ObjectMapper().readValue(CompressedStreams.decompress(relationsInputStream), RelationDefinition.class), flattenHierarchy);
+    }
+
+    /**
+     * Method to get the layout of the class
+     *
+     * @param className name of the class such as Product
+     * @return returns the layout or null if the class is not part of the vocabulary
+     */
+    public ClassLayout getClassLayout(final String className) {
+        return className == null ? null : classes.get(className);
+    }
+
+    /**
+     * Method to check if the class is the provided class or one of its subclasses
+     *
+     * @param className      name of the class to be checked
+     * @param superClassName name of the expected base class
+     * @return returns true if the class is equal to or derived from the base class
+     */
+    public boolean isSubclassOf(final String className, final String superClassName) {
+        final Set<String> visited = new HashSet<>();
+        String current = className;
+
+        while (current != null && visited.add(current)) {
+            if (current.equals(superClassName)) {
+                return true;
+            }
+            final ClassDefinition classDefinition = relationDefinition.getClasses().get(current);
+            current = classDefinition != null && Boolean.TRUE.equals(classDefinition.getIsSubclass()) ? classDefinition.getSuperClass() : null;
+        }
+        return false;
+    }
+
+    /**
+     * Method to get the IRI of the code from the relations
+     *
+     * @param code     code as used within the XSD enumeration such as AbsoluteHumidity
+     * @param codeList name of the TypeCode such as MeasurementType
+     * @return returns the absolute IRI of the code such as https://gs1.org/voc/AbsoluteHumidity, null if the relations
+     * do not contain the IRI of the code
+     */
+    public String getCodeIri(final String code, final String codeList) {
+        final Map<String, String> iris = codeIris.get(codeList);
+        return iris != null ? iris.get(code) : null;
+    }
+
+    /**
+     * Method to get the code of the TypeCode IRI from the relations, falls back to codeValue for the relations without the
+     * IRIs of the codes
+     *
+     * @param value    TypeCode IRI such as gs1:AbsoluteHumidity or plain code
+     * @param codeList name of the TypeCode such as MeasurementType
+     * @return returns the code as used within the XSD enumeration
+     */
+    public String getCode(final String value, final String codeList) {
+        final Map<String, String> codes = codesByLocalName.get(codeList);
+        final String code = codes != null ? codes.get(localName(value)) : null;
+        return code != null ? code : codeValue(value, codeList);
+    }
+
+    /**
+     * Method to get the local name of the compact or absolute IRI such as gs1:gtin or https://gs1.org/voc/gtin
+     *
+     * @param name compact IRI, absolute IRI or term
+     * @return returns the local name such as gtin
+     */
+    public static String localName(final String name) {
+        final int schemeIndex = name.indexOf("://");
+        if (schemeIndex >= 0) {
+            return name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('#')) + 1);
+        }
+        return name.substring(name.indexOf(':') + 1);
+    }
+
+    /**
+     * Method to get the code from the TypeCode IRI such as gs1:NonbinaryLogicCode-TRUE as used within the XSD enumeration
+     *
+     * @param value    TypeCode IRI or plain code
+     * @param codeList name of the TypeCode such as NonbinaryLogicCode
+     * @return returns the code such as TRUE
+     */
+    public static String codeValue(final String value, final String codeList) {
+        final String localName = localName(value);
+        final String code = codeList != null && localName.startsWith(codeList + "-") ? localName.substring(codeList.length() + 1) : localName;
+        return code.indexOf('%') >= 0 ? URLDecoder.decode(code, StandardCharsets.UTF_8) : code;
+    }
+
+    /**
+     * Method to get the local name of the TypeCode IRI for the code such as NonbinaryLogicCode-TRUE, reverse of codeValue
+     *
+     * @param code     code as used within the XSD enumeration such as TRUE
+     * @param codeList name of the TypeCode such as NonbinaryLogicCode
+     * @return returns the local name of the code IRI with the reserved characters percent-encoded
+     */
+    public static String codeIri(final String code, final String codeList) {
+        return codeList + "-" + URLEncoder.encode(code, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    // Build the ordered properties of the class with the properties of the base classes first
+    private ClassLayout createLayout(final String className) {
+        final Deque<ClassDefinition> hierarchy = new ArrayDeque<>();
+        final Set<String> visited = new HashSet<>();
+        String current = className;
+
+        while (current != null && visited.add(current) && relationDefinition.getClasses().containsKey(current)) {
+            final ClassDefinition classDefinition = relationDefinition.getClasses().get(current);
+            hierarchy.push(classDefinition);
+            current = Boolean.TRUE.equals(classDefinition.getIsSubclass()) ? classDefinition.getSuperClass() : null;
+        }
+
+        final List<PropertyLayout> properties = new ArrayList<>();
+        for (final ClassDefinition classDefinition : hierarchy) {
+            if (classDefinition.getProperties() != null) {
+                for (final PropertyDefinition property : classDefinition.getProperties()) {
+                    properties.add(new PropertyLayout(property, getKind(property), properties.size(), getRangeTypes(property)));
+                }
+            }
+        }
+        return new ClassLayout(className, properties);
+    }
+
+    // Kind of the property matching the XSD type chosen by the XSDGenerator
+    private PropertyKind getKind(final PropertyDefinition property) {
+        final Object range = property.getRangeType();
+
+        if (SIMPLE.equals(property.getDataType())) {
+            return LANG_STRING.equals(range) ? PropertyKind.LANG_STRING : PropertyKind.SIMPLE;
+        } else if (range instanceof List<?> listOfRanges && !listOfRanges.isEmpty()) {
+            return PropertyKind.CHOICE;
+        } else if (range instanceof String rangeType) {
+            if (rangeType.equalsIgnoreCase(THING)) {
+                return PropertyKind.ANY;
+            } else if (relationDefinition.getClasses() != null && relationDefinition.getClasses().containsKey(rangeType)) {
+                return PropertyKind.CLASS;
+            } else if (CODE.equals(property.getType()) || (relationDefinition.getTypeCodes() != null && relationDefinition.getTypeCodes().containsKey(rangeType))) {
+                return PropertyKind.CODE;
+            }
+            return PropertyKind.CLASS;
+        }
+        return PropertyKind.SIMPLE;
+    }
+
+    private List<String> getRangeTypes(final PropertyDefinition property) {
+        if (property.getRangeType() instanceof List<?> listOfRanges) {
+            return listOfRanges.stream().map(String::valueOf).toList();
+        } else if (property.getRangeType() instanceof String rangeType) {
+            return List.of(rangeType);
+        }
+        return List.of();
+    }
+}
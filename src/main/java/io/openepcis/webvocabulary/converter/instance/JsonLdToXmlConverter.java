@@ -0,0 +1,570 @@
+package io.openepcis.webvocabulary.converter.instance;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema.ClassLayout;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema.PropertyKind;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema.PropertyLayout;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.openepcis.webvocabulary.converter.constant.Constants.*;
+
+/**
+ * Converts JSON-LD instance data such as GS1 products and organizations into XML conforming to the generated XSD. The
+ * JSON-LD is read token by token using the Jackson streaming parser and the XML is written directly using StAX, so
+ * neither an RDF model nor JAXB objects are built. The properties of each node are buffered as tokens and written in the
+ * order of the xsd:sequence, so the memory is bounded by the size of one node irrespective of the size of the input.
+ * Only the LangString elements are repeatable within the XSD, hence multiple values of any other property are rejected.
+ */
+@Getter
+@Setter
+public class JsonLdToXmlConverter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    // Number of records converted ahead of the writer per thread, bounds the memory during the NDJSON conversion
+    private static final int RECORDS_IN_FLIGHT_PER_THREAD = 4;
+
+    private final InstanceSchema instanceSchema;
+
+    // Root element enclosing the nodes if the input contains more than one node (@graph, JSON array or NDJSON). It is a
+    // wrapper which is not declared within the generated XSD, every node within it conforms to the type of its element.
+    private String batchElementName = INSTANCES;
+
+    // Language used for xml:lang of the langString values without @language
+    private String defaultLanguage = "und";
+
+    // If the input properties already follow the xsd:sequence order (with @id and @type first) they are written without buffering
+    private boolean inputOrdered;
+
+    // Number of threads used for converting the NDJSON records
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    // Property of a node buffered until all the properties of the node are read
+    private record BufferedProperty(String key, TokenBuffer value) {
+    }
+
+    // NDJSON record being converted along with its line number for the error reporting
+    private record PendingRecord(long lineNumber, Future<byte[]> result) {
+    }
+
+    public JsonLdToXmlConverter(final InstanceSchema instanceSchema) {
+        this.instanceSchema = instanceSchema;
+    }
+
+    /**
+     * Method to convert the JSON-LD document into XML. A single node is written as root element named by its type, the
+     * nodes of a @graph or JSON array are written within the batch element which is not part of the generated XSD.
+     *
+     * @param jsonLdInputStream stream of the JSON-LD instance document
+     * @param xmlOutputStream   stream onto which the XML is written
+     * @throws IOException        exception during the reading of the JSON-LD
+     * @throws XMLStreamException exception during the writing of the XML
+     */
+    public void convert(final InputStream jsonLdInputStream, final OutputStream xmlOutputStream) throws IOException, XMLStreamException {
+        try (final JsonParser parser = JSON_FACTORY.createParser(jsonLdInputStream)) {
+            final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(xmlOutputStream, StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+
+            final JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                writer.writeStartElement(batchElementName);
+                writeDocuments(parser, writer);
+                writer.writeEndElement();
+            } else if (token == JsonToken.START_OBJECT) {
+                writeDocument(parser, writer, false);
+            } else {
+                throw new IllegalArgumentException("Expected JSON-LD object or array but found " + token);
+            }
+
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close();
+        }
+    }
+
+    /**
+     * Method to convert newline delimited JSON-LD records into one XML document with all the nodes within the batch
+     * element. The records are converted in parallel and written in the order of the input, only a bounded number of
+     * records is held in memory at any time.
+     *
+     * @param ndjsonInputStream stream of the NDJSON records, one JSON-LD document per line
+     * @param xmlOutputStream   stream onto which the XML is written
+     * @throws IOException exception during the reading of the records or the writing of the XML
+     */
+    public void convertNdjson(final InputStream ndjsonInputStream, final OutputStream xmlOutputStream) throws IOException {
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        final Deque<PendingRecord> pendingRecords = new ArrayDeque<>();
+
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(ndjsonInputStream, StandardCharsets.UTF_8), 1 << 16);
+            xmlOutputStream.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?><" + batchElementName + ">").getBytes(StandardCharsets.UTF_8));
+
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                final String record = line;
+                pendingRecords.add(new PendingRecord(lineNumber, executorService.submit(() -> convertRecord(record))));
+
+                // Write the oldest record once enough records are ahead so that the memory stays bounded
+                if (pendingRecords.size() >= parallelism * RECORDS_IN_FLIGHT_PER_THREAD) {
+                    xmlOutputStream.write(await(pendingRecords.poll()));
+                }
+            }
+
+            while (!pendingRecords.isEmpty()) {
+                xmlOutputStream.write(await(pendingRecords.poll()));
+            }
+
+            xmlOutputStream.write(("</" + batchElementName + ">").getBytes(StandardCharsets.UTF_8));
+            xmlOutputStream.flush();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    // Convert one NDJSON record into the XML fragment without XML declaration
+    private byte[] convertRecord(final String record) throws IOException, XMLStreamException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(record.length() + (record.length() >> 1));
+
+        try (final JsonParser parser = JSON_FACTORY.createParser(record)) {
+            final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+            final JsonToken token = parser.nextToken();
+
+            if (token == JsonToken.START_ARRAY) {
+                writeDocuments(parser, writer);
+            } else if (token == JsonToken.START_OBJECT) {
+                writeDocument(parser, writer, true);
+            } else {
+                throw new IllegalArgumentException("Expected JSON-LD object or array but found " + token);
+            }
+
+            writer.flush();
+            writer.close();
+        }
+        return outputStream.toByteArray();
+    }
+
+    // Wait for the converted record and report the failures along with the line number
+    private byte[] await(final PendingRecord pendingRecord) throws IOException {
+        try {
+            return pendingRecord.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while converting the record at line " + pendingRecord.lineNumber(), e);
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to convert the record at line " + pendingRecord.lineNumber() + ": " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // Write all the objects of the JSON array, the parser is positioned at the START_ARRAY
+    private void writeDocuments(final JsonParser parser, final XMLStreamWriter writer) throws IOException, XMLStreamException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                writeDocument(parser, writer, true);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    // Write the top level object which is either a node or a container with @context and @graph
+    private void writeDocument(final JsonParser parser, final XMLStreamWriter writer, final boolean batched) throws IOException, XMLStreamException {
+        // The keywords read before the first property are replayed from the buffer followed by the remaining tokens of the stream
+        final TokenBuffer header = new TokenBuffer(parser);
+        header.writeStartObject();
+
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            final String key = parser.currentName();
+
+            if (JSONLD_GRAPH.equals(key)) {
+                if (!batched) {
+                    writer.writeStartElement(batchElementName);
+                }
+
+                if (parser.nextToken() == JsonToken.START_ARRAY) {
+                    writeDocuments(parser, writer);
+                } else if (parser.currentToken() == JsonToken.START_OBJECT) {
+                    writeDocument(parser, writer, true);
+                }
+
+                // Skip the remaining entries of the container such as @context following the @graph
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+
+                if (!batched) {
+                    writer.writeEndElement();
+                }
+                return;
+            } else if (JSONLD_ID.equals(key) || JSONLD_TYPE.equals(key)) {
+                parser.nextToken();
+                header.writeFieldName(key);
+                header.copyCurrentStructure(parser);
+            } else if (key.startsWith("@")) {
+                parser.nextToken();
+                parser.skipChildren();
+            } else {
+                header.writeFieldName(key);
+                break;
+            }
+        }
+
+        final JsonParser nodeParser;
+        if (token == JsonToken.END_OBJECT) {
+            header.writeEndObject();
+            nodeParser = header.asParser();
+        } else {
+            nodeParser = JsonParserSequence.createFlattened(false, header.asParser(), parser);
+        }
+        nodeParser.nextToken();
+        writeNode(nodeParser, writer, null, List.of());
+    }
+
+    /**
+     * Method to write the node object as element, the parser is positioned at the START_OBJECT.
+     *
+     * @param parser      parser positioned at the START_OBJECT of the node
+     * @param writer      XML writer
+     * @param elementName name of the element, if null then the name of the type is used (root element or choice member)
+     * @param rangeTypes  types allowed by the property range, empty for the root element
+     */
+    private void writeNode(final JsonParser parser, final XMLStreamWriter writer, final String elementName, final List<String> rangeTypes) throws IOException, XMLStreamException {
+        final List<String> types = new ArrayList<>(1);
+        final List<BufferedProperty> bufferedProperties = new ArrayList<>();
+        String id = null;
+        ClassLayout layout = null;
+        int lastIndex = -1;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.currentName();
+            parser.nextToken();
+
+            if (JSONLD_ID.equals(key)) {
+                id = parser.getValueAsString();
+            } else if (JSONLD_TYPE.equals(key)) {
+                readTypes(parser, types);
+            } else if (key.startsWith("@")) {
+                parser.skipChildren();
+            } else if (inputOrdered) {
+                // Write the start element on the first property, hence @id and @type must precede the properties
+                if (layout == null) {
+                    layout = resolveLayout(types, rangeTypes);
+                    writeStartNode(writer, elementName, layout, rangeTypes, id);
+                }
+
+                final PropertyLayout property = layout.getProperty(InstanceSchema.localName(key));
+                if (property == null) {
+                    parser.skipChildren();
+                } else if (property.getIndex() < lastIndex) {
+                    throw new IllegalArgumentException("Property " + key + " of " + layout.getName() + " is not in the order of the xsd:sequence");
+                } else {
+                    if (property.getIndex() == lastIndex) {
+                        rejectRepeatedProperty(layout, property);
+                    }
+                    lastIndex = property.getIndex();
+                    writeProperty(parser, writer, property);
+                }
+            } else {
+                // The type may follow the properties, so the property is looked up once the node is complete
+                final TokenBuffer value = new TokenBuffer(parser);
+                value.copyCurrentStructure(parser);
+                bufferedProperties.add(new BufferedProperty(key, value));
+            }
+        }
+
+        if (layout == null) {
+            layout = resolveLayout(types, rangeTypes);
+            writeStartNode(writer, elementName, layout, rangeTypes, id);
+        }
+
+        if (!bufferedProperties.isEmpty()) {
+            final List<Map.Entry<PropertyLayout, TokenBuffer>> orderedProperties = new ArrayList<>(bufferedProperties.size());
+            for (final BufferedProperty bufferedProperty : bufferedProperties) {
+                final PropertyLayout property = layout.getProperty(InstanceSchema.localName(bufferedProperty.key()));
+                if (property != null) {
+                    orderedProperties.add(Map.entry(property, bufferedProperty.value()));
+                }
+            }
+
+            // Stable sort, so the multiple values of the same LangString property retain their order
+            orderedProperties.sort(Comparator.comparingInt(entry -> entry.getKey().getIndex()));
+            PropertyLayout previous = null;
+            for (final Map.Entry<PropertyLayout, TokenBuffer> entry : orderedProperties) {
+                if (entry.getKey() == previous) {
+                    rejectRepeatedProperty(layout, previous);
+                }
+                previous = entry.getKey();
+
+                final JsonParser valueParser = entry.getValue().asParser();
+                valueParser.nextToken();
+                writeProperty(valueParser, writer, entry.getKey());
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    // The same property given under several keys such as gs1:gtin and gtin results in repeated elements
+    private void rejectRepeatedProperty(final ClassLayout layout, final PropertyLayout property) {
+        if (property.getKind() != PropertyKind.LANG_STRING) {
+            throw new IllegalArgumentException("Property " + property.getName() + " of " + layout.getName() + " allows only a single value");
+        }
+    }
+
+    // Write the start element of the node along with the id attribute and xsi:type for subclasses of the range, which is
+    // not available for the flattened XSD as its types are not derived from each other
+    private void writeStartNode(final XMLStreamWriter writer, final String elementName, final ClassLayout layout, final List<String> rangeTypes, final String id) throws XMLStreamException {
+        final String name;
+        final String declaredType;
+
+        if (elementName != null) {
+            name = elementName;
+            declaredType = rangeTypes.isEmpty() ? null : rangeTypes.get(0);
+        } else {
+            // Member of the choice from which the class of the node is derived, named by the member type
+            name = rangeTypes.isEmpty() ? layout.getName() : rangeTypes.stream().filter(rangeType -> instanceSchema.isSubclassOf(layout.getName(), rangeType))
+                    .findFirst().orElseThrow();
+            declaredType = name;
+        }
+
+        if (declaredType != null && !declaredType.equals(layout.getName()) && instanceSchema.isFlattenHierarchy()) {
+            throw new IllegalArgumentException("Value of " + layout.getName() + " cannot be written as " + declaredType
+                    + " within the flattened hierarchy as xsi:type substitution is not available");
+        }
+
+        writer.writeStartElement(name);
+        if (declaredType != null && !declaredType.equals(layout.getName())) {
+            writer.writeNamespace("xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI);
+            writer.writeAttribute("xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, TYPE, layout.getName());
+        }
+        if (id != null) {
+            writer.writeAttribute(ID, id);
+        }
+    }
+
+    // Find the class of the node from @type, restricted to the range of the property if any, else use the single range
+    // itself. The member of a choice cannot be assumed, so the node of a union range must carry the type of a member.
+    private ClassLayout resolveLayout(final List<String> types, final List<String> rangeTypes) {
+        for (final String type : types) {
+            final ClassLayout layout = instanceSchema.getClassLayout(InstanceSchema.localName(type));
+            if (layout != null && (rangeTypes.isEmpty() || rangeTypes.stream().anyMatch(rangeType -> instanceSchema.isSubclassOf(layout.getName(), rangeType)))) {
+                return layout;
+            }
+        }
+
+        if (rangeTypes.size() == 1 && instanceSchema.getClassLayout(rangeTypes.get(0)) != null) {
+            return instanceSchema.getClassLayout(rangeTypes.get(0));
+        }
+        throw new IllegalArgumentException("Unable to find the class for the node with @type " + types + (rangeTypes.isEmpty() ? "" : " and range " + rangeTypes));
+    }
+
+    private void readTypes(final JsonParser parser, final List<String> types) throws IOException {
+        if (parser.currentToken() == JsonToken.START_ARRAY) {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                types.add(parser.getValueAsString());
+            }
+        } else {
+            types.add(parser.getValueAsString());
+        }
+    }
+
+    // Write the value or all the values of the array of the property, the parser is positioned at the value. Only the
+    // LangString elements are repeatable, so an array of any other property may contain only a single value.
+    private void writeProperty(final JsonParser parser, final XMLStreamWriter writer, final PropertyLayout property) throws IOException, XMLStreamException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            writeValue(parser, writer, property);
+            return;
+        }
+
+        boolean written = false;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                continue;
+            } else if (written && property.getKind() != PropertyKind.LANG_STRING) {
+                throw new IllegalArgumentException("Property " + property.getName() + " allows only a single value but found multiple values");
+            }
+            writeValue(parser, writer, property);
+            written = true;
+        }
+    }
+
+    private void writeValue(final JsonParser parser, final XMLStreamWriter writer, final PropertyLayout property) throws IOException, XMLStreamException {
+        final JsonToken token = parser.currentToken();
+        final String name = property.getName();
+
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        } else if (token == JsonToken.START_ARRAY) {
+            writeProperty(parser, writer, property);
+            return;
+        }
+
+        switch (property.getKind()) {
+            case LANG_STRING -> writeLangString(parser, writer, name);
+            case SIMPLE -> writeTextElement(writer, name, token == JsonToken.START_OBJECT ? readValue(parser, JSONLD_VALUE) : parser.getText());
+            case CODE -> {
+                final String code = token == JsonToken.START_OBJECT ? readValue(parser, JSONLD_ID) : parser.getText();
+                if (code != null) {
+                    writeTextElement(writer, name, instanceSchema.getCode(code, property.getRangeTypes().get(0)));
+                }
+            }
+            case CLASS -> {
+                if (token == JsonToken.START_OBJECT) {
+                    writeNode(parser, writer, name, property.getRangeTypes());
+                } else {
+                    // Reference to the node by its IRI
+                    writer.writeEmptyElement(name);
+                    writer.writeAttribute(ID, parser.getText());
+                }
+            }
+            case CHOICE -> {
+                // The member of the choice is named by the type, which is not known for a reference by IRI
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Property " + name + " requires a node with @type of one of " + property.getRangeTypes()
+                            + " but found the reference " + parser.getText());
+                }
+                writer.writeStartElement(name);
+                writeNode(parser, writer, null, property.getRangeTypes());
+                writer.writeEndElement();
+            }
+            case ANY -> writeAny(parser, writer, name);
+        }
+    }
+
+    // Write the langString as value object, plain string with the default language or language map
+    private void writeLangString(final JsonParser parser, final XMLStreamWriter writer, final String name) throws IOException, XMLStreamException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            writeLangStringElement(writer, name, defaultLanguage, parser.getText());
+            return;
+        }
+
+        String value = null;
+        String language = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.currentName();
+            parser.nextToken();
+
+            if (JSONLD_VALUE.equals(key)) {
+                value = parser.getText();
+            } else if (JSONLD_LANGUAGE.equals(key)) {
+                language = parser.getText();
+            } else if (key.startsWith("@")) {
+                parser.skipChildren();
+            } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+                // Language map with multiple values for the language
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    writeLangStringElement(writer, name, key, parser.getText());
+                }
+            } else {
+                writeLangStringElement(writer, name, key, parser.getText());
+            }
+        }
+
+        if (value != null) {
+            writeLangStringElement(writer, name, language != null ? language : defaultLanguage, value);
+        }
+    }
+
+    private void writeLangStringElement(final XMLStreamWriter writer, final String name, final String language, final String value) throws XMLStreamException {
+        writer.writeStartElement(name);
+        if (language != null) {
+            writer.writeAttribute("xml", XMLConstants.XML_NS_URI, "lang", language);
+        }
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    private void writeTextElement(final XMLStreamWriter writer, final String name, final String value) throws XMLStreamException {
+        if (value != null) {
+            writer.writeStartElement(name);
+            writer.writeCharacters(value);
+            writer.writeEndElement();
+        }
+    }
+
+    // Read the provided keyword from the value object skipping all the other entries
+    private String readValue(final JsonParser parser, final String keyword) throws IOException {
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = parser.currentName();
+            parser.nextToken();
+
+            if (keyword.equals(key)) {
+                value = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    // Write the value of the Thing range (xsd:anyType) as it is without the schema, using the local names as elements
+    private void writeAny(final JsonParser parser, final XMLStreamWriter writer, final String name) throws IOException, XMLStreamException {
+        writer.writeStartElement(name);
+
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            boolean hasContent = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.currentName();
+                final JsonToken token = parser.nextToken();
+
+                if (JSONLD_ID.equals(key) && !hasContent) {
+                    writer.writeAttribute(ID, parser.getText());
+                } else if (JSONLD_VALUE.equals(key)) {
+                    writer.writeCharacters(parser.getText());
+                    hasContent = true;
+                } else if (key.startsWith("@")) {
+                    parser.skipChildren();
+                } else if (token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        writeAny(parser, writer, InstanceSchema.localName(key));
+                    }
+                    hasContent = true;
+                } else if (token != JsonToken.VALUE_NULL) {
+                    writeAny(parser, writer, InstanceSchema.localName(key));
+                    hasContent = true;
+                }
+            }
+        } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+        } else {
+            writer.writeCharacters(parser.getText());
+        }
+        writer.writeEndElement();
+    }
+}
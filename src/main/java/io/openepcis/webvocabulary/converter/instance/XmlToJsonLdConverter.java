@@ -0,0 +1,421 @@
+package io.openepcis.webvocabulary.converter.instance;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema.ClassLayout;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema.PropertyLayout;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema.PropertyKind;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.openepcis.webvocabulary.converter.constant.Constants.*;
+
+/**
+ * Converts XML conforming to the generated XSD into compact GS1 JSON-LD. The XML is read using StAX and the JSON-LD is
+ * written directly using the Jackson generator, elements are mapped back to the vocabulary terms using the relations, so
+ * neither DOM nor an RDF model is built. Only the values of the repeated simple elements such as LangString are buffered
+ * until the next sibling, so the memory is independent of the size of the document.
+ */
+@Getter
+@Setter
+public class XmlToJsonLdConverter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final InstanceSchema instanceSchema;
+
+    // Namespace of the vocabulary terms if the prefix is not part of the namespaces of the relations
+    private static final String DEFAULT_VOCABULARY_NAMESPACE = "https://gs1.org/voc/";
+
+    // Prefix used for the vocabulary terms within the compact JSON-LD such as gs1:gtin, its namespace is taken from the
+    // namespaces of the relations if present
+    private String vocabularyPrefix = "gs1";
+
+    // Write the JSON-LD with indentation
+    private boolean prettyPrint;
+
+    // Number of threads used for converting the file sets
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public XmlToJsonLdConverter(final InstanceSchema instanceSchema) {
+        this.instanceSchema = instanceSchema;
+    }
+
+    /**
+     * Method to convert the XML document into JSON-LD. A root element named by a class is written as single node, any other
+     * root element such as the batch element of the JsonLdToXmlConverter is written as @graph of its child nodes.
+     *
+     * @param xmlInputStream     stream of the XML instance document
+     * @param jsonLdOutputStream stream onto which the JSON-LD is written
+     * @throws IOException        exception during the writing of the JSON-LD
+     * @throws XMLStreamException exception during the reading of the XML
+     */
+    public void convert(final InputStream xmlInputStream, final OutputStream jsonLdOutputStream) throws IOException, XMLStreamException {
+        final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(xmlInputStream);
+
+        try (final JsonGenerator generator = JSON_FACTORY.createGenerator(jsonLdOutputStream, JsonEncoding.UTF8)) {
+            if (prettyPrint) {
+                generator.useDefaultPrettyPrinter();
+            }
+
+            reader.nextTag();
+            final ClassLayout rootLayout = resolveLayout(reader, reader.getLocalName());
+
+            generator.writeStartObject();
+            generator.writeObjectFieldStart(JSONLD_CONTEXT);
+            generator.writeStringField(vocabularyPrefix, getVocabularyNamespace());
+            generator.writeEndObject();
+
+            if (rootLayout != null) {
+                writeNode(reader, generator, rootLayout);
+            } else {
+                // Batch of the nodes written as @graph
+                generator.writeArrayFieldStart(JSONLD_GRAPH);
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    final ClassLayout layout = resolveLayout(reader, reader.getLocalName());
+                    if (layout == null) {
+                        throw new IllegalArgumentException("Element " + reader.getLocalName() + " does not correspond to any class of the vocabulary");
+                    }
+                    generator.writeStartObject();
+                    writeNode(reader, generator, layout);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+
+            generator.writeEndObject();
+            generator.flush();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Method to convert a set of XML files into JSON-LD files in parallel, each file is streamed from the input to the
+     * output so the memory depends only on the number of threads.
+     *
+     * @param xmlFiles        XML files to be converted
+     * @param outputDirectory directory into which the JSON-LD files are written with the extension .jsonld
+     * @return returns the paths of the written JSON-LD files in the order of the input files
+     * @throws IOException exception during the conversion of any of the files, the other failures are added as suppressed
+     */
+    public List<Path> convertAll(final Collection<Path> xmlFiles, final Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            final List<Future<Path>> results = new ArrayList<>(xmlFiles.size());
+            for (final Path xmlFile : xmlFiles) {
+                results.add(executorService.submit(() -> convertFile(xmlFile, outputDirectory)));
+            }
+
+            final List<Path> jsonLdFiles = new ArrayList<>(results.size());
+            IOException failure = null;
+            for (final Future<Path> result : results) {
+                try {
+                    jsonLdFiles.add(result.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while converting the XML files", e);
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = new IOException(e.getCause().getMessage(), e.getCause());
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+            return jsonLdFiles;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Path convertFile(final Path xmlFile, final Path outputDirectory) throws IOException {
+        final String fileName = xmlFile.getFileName().toString();
+        final Path jsonLdFile = outputDirectory.resolve((fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName) + ".jsonld");
+
+        try (final InputStream inputStream = Files.newInputStream(xmlFile);
+             final OutputStream outputStream = Files.newOutputStream(jsonLdFile)) {
+            convert(inputStream, outputStream);
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new IOException("Unable to convert " + xmlFile + ": " + e.getMessage(), e);
+        }
+        return jsonLdFile;
+    }
+
+    // Find the class of the element using xsi:type if present else the provided type name
+    private ClassLayout resolveLayout(final XMLStreamReader reader, final String typeName) {
+        final String xsiType = reader.getAttributeValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, TYPE);
+        if (xsiType != null && instanceSchema.getClassLayout(InstanceSchema.localName(xsiType)) != null) {
+            return instanceSchema.getClassLayout(InstanceSchema.localName(xsiType));
+        }
+        return instanceSchema.getClassLayout(typeName);
+    }
+
+    /**
+     * Method to write @id, @type and the properties of the node into the open JSON object, the reader is positioned at the
+     * START_ELEMENT of the node and is left at its END_ELEMENT.
+     */
+    private void writeNode(final XMLStreamReader reader, final JsonGenerator generator, final ClassLayout layout) throws IOException, XMLStreamException {
+        final String id = reader.getAttributeValue(null, ID);
+        if (id != null) {
+            generator.writeStringField(JSONLD_ID, id);
+        }
+        generator.writeStringField(JSONLD_TYPE, term(layout.getName()));
+
+        // Simple values of the current property are buffered to write a single value or an array once the next sibling is known
+        PropertyLayout pendingProperty = null;
+        TokenBuffer pendingValues = null;
+        int pendingCount = 0;
+        PropertyLayout lastNodeProperty = null;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            final PropertyLayout property = layout.getProperty(reader.getLocalName());
+
+            if (property == null) {
+                skipElement(reader);
+                continue;
+            }
+
+            if (pendingProperty != null && pendingProperty != property) {
+                writePendingValues(generator, pendingProperty, pendingValues, pendingCount);
+                pendingProperty = null;
+            }
+
+            if (property.getKind() == PropertyKind.LANG_STRING || property.getKind() == PropertyKind.SIMPLE || property.getKind() == PropertyKind.CODE) {
+                if (pendingProperty == null) {
+                    pendingProperty = property;
+                    pendingValues = new TokenBuffer(null, false);
+                    pendingCount = 0;
+                }
+                writeSimpleValue(reader, pendingValues, property);
+                pendingCount++;
+            } else {
+                // As per the XSD the node valued elements occur at most once
+                if (property == lastNodeProperty) {
+                    throw new IllegalArgumentException("Element " + property.getName() + " of " + layout.getName() + " occurs more than once");
+                }
+                lastNodeProperty = property;
+                generator.writeFieldName(term(property.getName()));
+                writeNodeValue(reader, generator, property);
+            }
+        }
+
+        if (pendingProperty != null) {
+            writePendingValues(generator, pendingProperty, pendingValues, pendingCount);
+        }
+    }
+
+    private void writePendingValues(final JsonGenerator generator, final PropertyLayout property, final TokenBuffer values, final int count) throws IOException {
+        generator.writeFieldName(term(property.getName()));
+        if (count > 1) {
+            generator.writeStartArray();
+            values.serialize(generator);
+            generator.writeEndArray();
+        } else {
+            values.serialize(generator);
+        }
+    }
+
+    // Write the LangString, simple or TypeCode value, the reader is positioned at the START_ELEMENT and left at its END_ELEMENT
+    private void writeSimpleValue(final XMLStreamReader reader, final JsonGenerator generator, final PropertyLayout property) throws IOException, XMLStreamException {
+        if (property.getKind() == PropertyKind.LANG_STRING) {
+            final String language = reader.getAttributeValue(XMLConstants.XML_NS_URI, "lang");
+            final String value = reader.getElementText();
+
+            if (language == null) {
+                generator.writeString(value);
+            } else {
+                generator.writeStartObject();
+                generator.writeStringField(JSONLD_VALUE, value);
+                generator.writeStringField(JSONLD_LANGUAGE, language);
+                generator.writeEndObject();
+            }
+        } else if (property.getKind() == PropertyKind.CODE) {
+            generator.writeStartObject();
+            final String code = reader.getElementText().strip();
+            final String codeIri = instanceSchema.getCodeIri(code, property.getRangeTypes().get(0));
+            generator.writeStringField(JSONLD_ID, codeIri != null ? compact(codeIri) : term(InstanceSchema.codeIri(code, property.getRangeTypes().get(0))));
+            generator.writeEndObject();
+        } else {
+            writeTypedValue(generator, property.getRangeTypes().isEmpty() ? XSD_STRING : property.getRangeTypes().get(0), reader.getElementText());
+        }
+    }
+
+    // Numbers and booleans are written as native JSON values, all the others as string
+    private void writeTypedValue(final JsonGenerator generator, final String rangeType, final String value) throws IOException {
+        final String text = value.strip();
+
+        try {
+            switch (InstanceSchema.localName(rangeType)) {
+                case "float", "double", "decimal" -> generator.writeNumber(new BigDecimal(text));
+                case "integer", "int", "long" -> generator.writeNumber(new BigInteger(text));
+                case "boolean" -> {
+                    if ("true".equals(text) || "1".equals(text)) {
+                        generator.writeBoolean(true);
+                    } else if ("false".equals(text) || "0".equals(text)) {
+                        generator.writeBoolean(false);
+                    } else {
+                        generator.writeString(value);
+                    }
+                }
+                default -> generator.writeString(value);
+            }
+        } catch (NumberFormatException e) {
+            generator.writeString(value);
+        }
+    }
+
+    // Write the class, choice or Thing value, the reader is positioned at the START_ELEMENT and left at its END_ELEMENT
+    private void writeNodeValue(final XMLStreamReader reader, final JsonGenerator generator, final PropertyLayout property) throws IOException, XMLStreamException {
+        switch (property.getKind()) {
+            case CLASS -> {
+                generator.writeStartObject();
+                final ClassLayout layout = resolveLayout(reader, property.getRangeTypes().get(0));
+                if (layout != null) {
+                    writeNode(reader, generator, layout);
+                } else {
+                    writeAnyContent(reader, generator);
+                }
+                generator.writeEndObject();
+            }
+            case CHOICE -> {
+                // The member element such as <GeoCoordinates> is nested within the property element
+                generator.writeStartObject();
+                if (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    final ClassLayout layout = resolveLayout(reader, reader.getLocalName());
+                    if (layout == null) {
+                        throw new IllegalArgumentException("Element " + reader.getLocalName() + " is not a member of " + property.getRangeTypes());
+                    }
+                    writeNode(reader, generator, layout);
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        skipElement(reader);
+                    }
+                }
+                generator.writeEndObject();
+            }
+            default -> writeAny(reader, generator);
+        }
+    }
+
+    // Write the xsd:anyType element as string if it contains only text else as object using the local names as terms
+    private void writeAny(final XMLStreamReader reader, final JsonGenerator generator) throws IOException, XMLStreamException {
+        final String id = reader.getAttributeValue(null, ID);
+        final StringBuilder text = new StringBuilder();
+
+        while (reader.hasNext()) {
+            final int event = reader.next();
+
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                text.append(reader.getText());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (id != null) {
+                    generator.writeStartObject();
+                    generator.writeStringField(JSONLD_ID, id);
+                    if (!text.toString().isBlank()) {
+                        generator.writeStringField(JSONLD_VALUE, text.toString());
+                    }
+                    generator.writeEndObject();
+                } else {
+                    generator.writeString(text.toString());
+                }
+                return;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                generator.writeStartObject();
+                if (id != null) {
+                    generator.writeStringField(JSONLD_ID, id);
+                }
+                generator.writeFieldName(term(reader.getLocalName()));
+                writeAny(reader, generator);
+                writeAnyContent(reader, generator);
+                generator.writeEndObject();
+                return;
+            }
+        }
+    }
+
+    // Write the remaining child elements of the xsd:anyType element as fields of the open object
+    private void writeAnyContent(final XMLStreamReader reader, final JsonGenerator generator) throws IOException, XMLStreamException {
+        while (reader.hasNext()) {
+            final int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                generator.writeFieldName(term(reader.getLocalName()));
+                writeAny(reader, generator);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return;
+            }
+        }
+    }
+
+    // Skip the element along with all its children, the reader is left at its END_ELEMENT
+    private void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Method to get the namespace bound to the current vocabulary prefix within the @context
+     *
+     * @return returns the namespace of the prefix from the relations or the GS1 namespace if the prefix is not present
+     */
+    public String getVocabularyNamespace() {
+        final Map<String, String> namespaces = instanceSchema.getRelationDefinition().getNamespaces();
+        return namespaces != null ? namespaces.getOrDefault(vocabularyPrefix, DEFAULT_VOCABULARY_NAMESPACE) : DEFAULT_VOCABULARY_NAMESPACE;
+    }
+
+    // Compact IRI of the vocabulary term such as gs1:gtin
+    private String term(final String name) {
+        return vocabularyPrefix + ":" + name;
+    }
+
+    // Compact IRI if the absolute IRI belongs to the vocabulary namespace such as gs1:AbsoluteHumidity, else the IRI itself
+    private String compact(final String iri) {
+        final String namespace = getVocabularyNamespace();
+        return iri.startsWith(namespace) ? term(iri.substring(namespace.length())) : iri;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        // Disable DTDs and external entities for security
+        final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+}
@@ -0,0 +1,114 @@
+package io.openepcis.webvocabulary.converter.io;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Transparent gzip support for the vocabulary input and the generated artifacts. Compressed input is recognized by the
+ * gzip magic bytes and decompressed while it is being parsed, outputs whose file name ends with .gz are compressed
+ * while they are being written. Neither direction holds the complete contents in memory.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompressedStreams {
+
+    // Extension of the gzip compressed files
+    public static final String GZIP_EXTENSION = ".gz";
+
+    // Size of the buffers in front of and behind the (de)compressor
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // First two bytes of every gzip member as per RFC 1952
+    private static final int GZIP_MAGIC_FIRST = 0x1F;
+    private static final int GZIP_MAGIC_SECOND = 0x8B;
+
+    /**
+     * Method to decompress the stream if it starts with the gzip magic bytes, otherwise the contents are returned as is
+     *
+     * @param inputStream compressed or uncompressed contents
+     * @return returns the buffered, decompressed contents supporting mark/reset for sniffing the syntax
+     * @throws IOException exception during reading of the gzip header
+     */
+    public static BufferedInputStream decompress(final InputStream inputStream) throws IOException {
+        final BufferedInputStream bufferedStream = inputStream instanceof BufferedInputStream buffered ? buffered : new BufferedInputStream(inputStream, BUFFER_SIZE);
+        if (!isGzip(bufferedStream)) {
+            return bufferedStream;
+        }
+        return new BufferedInputStream(new GZIPInputStream(bufferedStream, BUFFER_SIZE), BUFFER_SIZE);
+    }
+
+    /**
+     * Method to check if the stream starts with the gzip magic bytes, the stream is reset afterward
+     *
+     * @param inputStream contents supporting mark/reset
+     * @return returns true if the contents are gzip compressed
+     * @throws IOException exception during reading of the stream
+     */
+    public static boolean isGzip(final BufferedInputStream inputStream) throws IOException {
+        inputStream.mark(2);
+        final int first = inputStream.read();
+        final int second = inputStream.read();
+        inputStream.reset();
+        return first == GZIP_MAGIC_FIRST && second == GZIP_MAGIC_SECOND;
+    }
+
+    /**
+     * Method to check if the file name or URL has the gzip extension, ignoring any query or fragment
+     *
+     * @param fileNameOrUrl file name or URL
+     * @return returns true if the name ends with .gz
+     */
+    public static boolean isGzip(final String fileNameOrUrl) {
+        return fileNameOrUrl != null && fileNameOrUrl.replaceFirst("[?#].*$", "").toLowerCase(Locale.ROOT).endsWith(GZIP_EXTENSION);
+    }
+
+    /**
+     * Method to open the file for reading, decompressing it if the contents are gzip compressed
+     *
+     * @param path file to be read
+     * @return returns the decompressed contents
+     * @throws IOException exception during opening of the file
+     */
+    public static InputStream newInputStream(final Path path) throws IOException {
+        final InputStream inputStream = Files.newInputStream(path);
+        try {
+            return decompress(inputStream);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method to open the file for writing, the contents are gzip compressed if the file name ends with .gz
+     *
+     * @param file file to be written
+     * @return returns the buffered stream which finishes the compression on close
+     * @throws IOException exception during opening of the file
+     */
+    public static OutputStream newOutputStream(final File file) throws IOException {
+        final OutputStream fileStream = new FileOutputStream(file);
+        if (!isGzip(file.getName())) {
+            return new BufferedOutputStream(fileStream, BUFFER_SIZE);
+        }
+        try {
+            // Buffer in front of the compressor so that small writes of the serializers do not reach the deflater individually
+            return new BufferedOutputStream(new GZIPOutputStream(fileStream, BUFFER_SIZE), BUFFER_SIZE);
+        } catch (IOException e) {
+            fileStream.close();
+            throw e;
+        }
+    }
+}
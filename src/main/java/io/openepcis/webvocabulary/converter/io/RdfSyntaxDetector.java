@@ -0,0 +1,155 @@
+package io.openepcis.webvocabulary.converter.io;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Detects the RDF syntax (JSON-LD, Turtle, N-Triples, RDF/XML or RDF Thrift) of the vocabulary based on the file
+ * extension, the content type or by sniffing the first bytes of the contents.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RdfSyntaxDetector {
+
+    // Number of bytes read from the beginning of the stream for sniffing the syntax
+    private static final int SNIFF_LENGTH = 4096;
+
+    // Content types served for any file by hosts such as raw.githubusercontent.com, which do not identify the syntax
+    private static final Set<String> GENERIC_CONTENT_TYPES = Set.of("text/plain", "application/octet-stream", "binary/octet-stream", "application/json");
+
+    /**
+     * Method to detect the syntax based on the extension of the file name or URL
+     *
+     * @param fileNameOrUrl file name or URL of the vocabulary
+     * @return returns the matching Lang or JSON-LD if the extension is unknown
+     */
+    public static Lang detect(final String fileNameOrUrl) {
+        return detect(fileNameOrUrl, null);
+    }
+
+    /**
+     * Method to detect the syntax based on the content type and if not conclusive based on the extension of the file name
+     * or URL. Generic content types such as text/plain are not conclusive.
+     *
+     * @param fileNameOrUrl file name or URL of the vocabulary
+     * @param contentType   content type of the vocabulary contents, can be null
+     * @return returns the matching Lang or JSON-LD if neither content type nor extension are known
+     */
+    public static Lang detect(final String fileNameOrUrl, final String contentType) {
+        final Lang lang = detectByName(fileNameOrUrl, contentType);
+        return lang != null ? lang : Lang.JSONLD;
+    }
+
+    /**
+     * Method to detect the syntax based on the content type, then the extension of the file name or URL, ignoring the
+     * compression extension such as .gz, and if neither is conclusive by sniffing the first bytes of the stream. Generic
+     * content types such as text/plain are not conclusive.
+     *
+     * @param fileNameOrUrl file name or URL of the vocabulary
+     * @param contentType   content type of the vocabulary contents, can be null
+     * @param inputStream   uncompressed vocabulary contents supporting mark/reset
+     * @return returns the detected Lang, JSON-LD if the syntax could not be identified
+     * @throws IOException exception during reading of the stream
+     */
+    public static Lang detect(final String fileNameOrUrl, final String contentType, final BufferedInputStream inputStream) throws IOException {
+        final Lang lang = detectByName(fileNameOrUrl, contentType);
+        return lang != null ? lang : detect(inputStream);
+    }
+
+    // Syntax based on the content type or extension, null if neither is known
+    private static Lang detectByName(final String fileNameOrUrl, final String contentType) {
+        if (contentType != null && !isGenericContentType(contentType)) {
+            final Lang contentTypeLang = RDFLanguages.contentTypeToLang(contentType);
+            if (contentTypeLang != null) {
+                return contentTypeLang;
+            }
+        }
+
+        if (fileNameOrUrl != null) {
+            // Ignore the query or fragment part of the URL before checking the extension
+            final String path = fileNameOrUrl.replaceFirst("[?#].*$", "");
+            return RDFLanguages.filenameToLang(path);
+        }
+        return null;
+    }
+
+    // Content types which are used irrespective of the syntax, Jena would map text/plain to N-Triples
+    private static boolean isGenericContentType(final String contentType) {
+        final String mediaType = contentType.replaceFirst(";.*$", "").strip().toLowerCase(Locale.ROOT);
+        return GENERIC_CONTENT_TYPES.contains(mediaType);
+    }
+
+    /**
+     * Method to detect the syntax by sniffing the first bytes of the stream, the stream is reset afterward so the complete
+     * contents can be parsed.
+     *
+     * @param inputStream vocabulary contents supporting mark/reset
+     * @return returns the detected Lang, JSON-LD if the syntax could not be identified
+     * @throws IOException exception during reading of the stream
+     */
+    public static Lang detect(final BufferedInputStream inputStream) throws IOException {
+        inputStream.mark(SNIFF_LENGTH);
+        final byte[] buffer = inputStream.readNBytes(SNIFF_LENGTH);
+        inputStream.reset();
+        return detect(buffer, buffer.length);
+    }
+
+    /**
+     * Method to detect the syntax based on the first bytes of the contents
+     *
+     * @param buffer bytes from the beginning of the vocabulary contents
+     * @param length number of valid bytes within buffer
+     * @return returns the detected Lang, JSON-LD if the syntax could not be identified
+     */
+    public static Lang detect(final byte[] buffer, final int length) {
+        if (length == 0) {
+            return Lang.JSONLD;
+        }
+
+        // Binary contents cannot be any of the text syntaxes, RDF Thrift is the binary syntax supported
+        for (int i = 0; i < length; i++) {
+            final int b = buffer[i] & 0xFF;
+            if (b < 0x09 || (b > 0x0D && b < 0x20)) {
+                return Lang.RDFTHRIFT;
+            }
+        }
+
+        final String text = new String(buffer, 0, length, StandardCharsets.UTF_8).replaceFirst("^\\uFEFF", "").stripLeading();
+
+        if (text.startsWith("{") || text.startsWith("[")) {
+            return Lang.JSONLD;
+        } else if (text.startsWith("<?xml") || text.startsWith("<rdf:RDF")) {
+            return Lang.RDFXML;
+        } else if (isNTriples(text)) {
+            return Lang.NTRIPLES;
+        }
+        return Lang.TURTLE;
+    }
+
+    // N-Triples contain only absolute IRIs or blank nodes as subject on every line, no prefix or base declarations
+    private static boolean isNTriples(final String text) {
+        final String[] lines = text.split("\\R");
+        // Ignore the last line as it can be truncated by the sniff buffer
+        final int completeLines = lines.length > 1 ? lines.length - 1 : lines.length;
+        boolean tripleFound = false;
+
+        for (int i = 0; i < completeLines; i++) {
+            final String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (!(line.startsWith("<") || line.startsWith("_:")) || !line.endsWith(".")) {
+                return false;
+            }
+            tripleFound = true;
+        }
+        return tripleFound;
+    }
+}
@@ -0,0 +1,248 @@
+package io.openepcis.webvocabulary.converter.jsonschema;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.openepcis.webvocabulary.converter.documentation.DocumentationLevel;
+import io.openepcis.webvocabulary.converter.emitter.SchemaEmitter;
+import io.openepcis.webvocabulary.converter.emitter.SchemaWriter;
+import io.openepcis.webvocabulary.converter.io.CompressedStreams;
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.LinkTypeDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.openepcis.webvocabulary.converter.constant.Constants.*;
+
+/**
+ * Emits a JSON Schema (draft 2020-12) with the same types as the XSD: an object schema under $defs for every class, with
+ * the superClass referenced through allOf, a string enumeration for every TypeCode and the LinkTypeEnum. The property
+ * names are the XSD element names, the identifier is @id and the langString values are JSON-LD value objects with the
+ * value and the language. The schema is written to the file while the events arrive, without building a tree.
+ */
+@Getter
+@Setter
+public class JsonSchemaEmitter implements SchemaEmitter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // File onto which the generated JSON Schema is written, compressed if the name ends with .gz
+    private File jsonSchemaFile = new File("src/main/resources/schema/JsonLdSchema.schema.json");
+
+    // Level of the descriptions which are added as description of the types and properties
+    private DocumentationLevel documentationLevel = DocumentationLevel.FULL;
+
+    @Override
+    public String getName() {
+        return "JSON Schema";
+    }
+
+    @Override
+    public SchemaWriter startSchema(final RelationDefinition relationDefinition) throws IOException {
+        return new JsonSchemaWriter(relationDefinition);
+    }
+
+    // Writer of the JSON Schema of a single traversal, holding the generator writing to the file
+    private final class JsonSchemaWriter implements SchemaWriter {
+        private final JsonGenerator generator;
+
+        // Relations being traversed, for recognizing the TypeCodes clashing with the classes
+        private final RelationDefinition relationDefinition;
+
+        private JsonSchemaWriter(final RelationDefinition relationDefinition) throws IOException {
+            this.relationDefinition = relationDefinition;
+            generator = JSON_FACTORY.createGenerator(CompressedStreams.newOutputStream(jsonSchemaFile), JsonEncoding.UTF8);
+            generator.useDefaultPrettyPrinter();
+            try {
+                writeHeader();
+            } catch (IOException e) {
+                abort(e);
+                throw e;
+            }
+        }
+
+        // Open the schema and the $defs with the type of the LangString values
+        private void writeHeader() throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("$schema", JSON_SCHEMA_DIALECT);
+            generator.writeObjectFieldStart("$defs");
+
+            // Counterpart of the LangString complexType, the language is required as xml:lang within the XSD
+            generator.writeObjectFieldStart(LANG_STRING_TYPE);
+            generator.writeStringField(TYPE, "object");
+            generator.writeObjectFieldStart(PROPERTIES);
+            writeTypeField(JSONLD_VALUE, "string");
+            writeTypeField(JSONLD_LANGUAGE, "string");
+            generator.writeEndObject();
+            generator.writeArrayFieldStart("required");
+            generator.writeString(JSONLD_VALUE);
+            generator.writeString(JSONLD_LANGUAGE);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void classType(final String className, final ClassDefinition classDefinition) throws IOException {
+            generator.writeObjectFieldStart(className);
+            generator.writeStringField(TYPE, "object");
+            writeDescription(classDefinition.getDescription(), false);
+
+            // The superClass is referenced instead of being repeated, as the xsd:extension of the XSD
+            final boolean subclass = Boolean.TRUE.equals(classDefinition.getIsSubclass()) && classDefinition.getSuperClass() != null;
+            if (subclass) {
+                generator.writeArrayFieldStart("allOf");
+                writeRef(classDefinition.getSuperClass());
+                generator.writeEndArray();
+            }
+
+            generator.writeObjectFieldStart(PROPERTIES);
+            if (!subclass) {
+                generator.writeObjectFieldStart(JSONLD_ID);
+                generator.writeStringField(TYPE, "string");
+                generator.writeStringField("format", "uri");
+                generator.writeEndObject();
+                writeTypeField(JSONLD_TYPE, "string");
+            }
+            if (classDefinition.getProperties() != null) {
+                for (final PropertyDefinition property : classDefinition.getProperties()) {
+                    generator.writeObjectFieldStart(property.getProperty());
+                    writePropertyType(property);
+                    writeDescription(property.getDescription(), property.isDeprecated());
+                    if (property.isDeprecated()) {
+                        generator.writeBooleanField(DEPRECATED, true);
+                    }
+                    generator.writeEndObject();
+                }
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void typeCode(final String typeCodeName, final List<PropertyDefinition> codes) throws IOException {
+            // The class takes precedence over the TypeCode with the same name, as within the XSD
+            if (relationDefinition.getClasses() != null && relationDefinition.getClasses().containsKey(typeCodeName)) {
+                return;
+            }
+            generator.writeObjectFieldStart(typeCodeName);
+            generator.writeStringField(TYPE, "string");
+            generator.writeArrayFieldStart("enum");
+            for (final PropertyDefinition code : codes) {
+                generator.writeString(code.getProperty());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void linkTypes(final List<LinkTypeDefinition> linkTypes) throws IOException {
+            generator.writeObjectFieldStart(LINK_TYPE_ENUM);
+            generator.writeStringField(TYPE, "string");
+            generator.writeArrayFieldStart("enum");
+            for (final LinkTypeDefinition linkType : linkTypes) {
+                generator.writeString(linkType.getLinkTypeId());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void endSchema() throws IOException {
+            try (final JsonGenerator completed = generator) {
+                completed.writeEndObject();
+                completed.writeEndObject();
+            }
+        }
+
+        @Override
+        public void abort(final Throwable cause) {
+            try {
+                generator.close();
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+        }
+
+        // Write the schema of the property value based on its dataType and rangeType
+        private void writePropertyType(final PropertyDefinition property) throws IOException {
+            final Object range = property.getRangeType();
+
+            if (SIMPLE.equals(property.getDataType()) && range instanceof String rangeType) {
+                writeSimpleType(rangeType);
+            } else if (COMPLEX.equals(property.getDataType()) && range instanceof String rangeType) {
+                // Thing accepts any value as xsd:anyType, hence no constraint is written
+                if (!rangeType.equalsIgnoreCase(THING)) {
+                    writeRefField(rangeType);
+                }
+            } else if (COMPLEX.equals(property.getDataType()) && range instanceof List<?> listOfRanges && !listOfRanges.isEmpty()) {
+                // Union range such as [GeoCoordinates, GeoShape] as counterpart of the named xsd:choice type
+                final Set<String> members = new LinkedHashSet<>();
+                listOfRanges.forEach(member -> members.add(String.valueOf(member)));
+                generator.writeArrayFieldStart("anyOf");
+                for (final String member : members) {
+                    writeRef(member);
+                }
+                generator.writeEndArray();
+            }
+        }
+
+        // Map the simple rangeType to the JSON type and format, the langString values are repeatable as within the XSD
+        private void writeSimpleType(final String rangeType) throws IOException {
+            switch (rangeType) {
+                case "xsd:integer", "integer" -> generator.writeStringField(TYPE, "integer");
+                case "xsd:float", "float" -> generator.writeStringField(TYPE, "number");
+                case "xsd:boolean", "boolean" -> generator.writeStringField(TYPE, "boolean");
+                case "xsd:date", "date" -> writeFormat("date");
+                case "xsd:dateTime", "dateTime" -> writeFormat("date-time");
+                case "xsd:anyURI", "anyURI" -> writeFormat("uri");
+                case "xsd:gYear", "gYear" -> {
+                    generator.writeStringField(TYPE, "string");
+                    generator.writeStringField("pattern", "^-?[0-9]{4,}$");
+                }
+                case LANG_STRING -> {
+                    generator.writeStringField(TYPE, "array");
+                    generator.writeObjectFieldStart("items");
+                    writeRefField(LANG_STRING_TYPE);
+                    generator.writeEndObject();
+                }
+                default -> generator.writeStringField(TYPE, "string");
+            }
+        }
+
+        private void writeFormat(final String format) throws IOException {
+            generator.writeStringField(TYPE, "string");
+            generator.writeStringField("format", format);
+        }
+
+        private void writeTypeField(final String fieldName, final String type) throws IOException {
+            generator.writeObjectFieldStart(fieldName);
+            generator.writeStringField(TYPE, type);
+            generator.writeEndObject();
+        }
+
+        private void writeRef(final String typeName) throws IOException {
+            generator.writeStartObject();
+            writeRefField(typeName);
+            generator.writeEndObject();
+        }
+
+        private void writeRefField(final String typeName) throws IOException {
+            generator.writeStringField("$ref", "#/$defs/" + typeName);
+        }
+
+        // Add the description only if present and allowed by the documentation level
+        private void writeDescription(final String description, final boolean deprecated) throws IOException {
+            if (description != null && !description.isBlank() && documentationLevel.includes(deprecated)) {
+                generator.writeStringField(DESCRIPTION, description);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.openepcis.webvocabulary.converter.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Getter
+@Setter
+public class DocumentationDefinition {
+    private Map<String, String> types = new TreeMap<>();
+    private Map<String, Map<String, String>> properties = new TreeMap<>();
+}
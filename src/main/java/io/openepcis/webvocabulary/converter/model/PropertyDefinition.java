@@ -1,5 +1,7 @@
 package io.openepcis.webvocabulary.converter.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -7,6 +9,11 @@ import lombok.Setter;
 @Setter
 public class PropertyDefinition {
     private String property;
+
+    // IRI of the TypeCode code, its local name does not always follow <TypeCode>-<code> such as gs1:AbsoluteHumidity
+    @JsonProperty("@id")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String id;
     private Object rangeType;
     private String domain;
     private String description;
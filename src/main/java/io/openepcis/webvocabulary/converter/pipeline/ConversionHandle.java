@@ -0,0 +1,191 @@
+package io.openepcis.webvocabulary.converter.pipeline;
+
+import io.openepcis.webvocabulary.converter.pipeline.StageEvent.Status;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Non-blocking handle of a running conversion. Provides the future of every stage and of the complete conversion, the
+ * current status of each stage and a publisher of the status changes. The publisher is completed once all the stages
+ * have finished, subscribers joining late only receive the remaining events and can use getProgress for the earlier ones.
+ * Every status change is delivered to each current subscriber in order and none is dropped: once the buffer of a
+ * subscriber is full, the stage publishing the change waits until the subscriber requests further events, so the
+ * subscribers have to keep requesting for the conversion to proceed.
+ */
+public class ConversionHandle {
+
+    private final Map<ConversionStage, CompletableFuture<Void>> stages = new EnumMap<>(ConversionStage.class);
+    private final Map<ConversionStage, Status> statuses = new ConcurrentHashMap<>();
+    private final SubmissionPublisher<StageEvent> publisher;
+    private final CompletableFuture<Void> completion;
+    private final CompletableFuture<Void> termination;
+
+    ConversionHandle(final Map<ConversionStage, StageTask> tasks, final Map<ConversionStage, Set<ConversionStage>> dependencies,
+                     final Executor executor, final Flow.Subscriber<? super StageEvent> progressSubscriber) {
+        publisher = new SubmissionPublisher<>(executor, Flow.defaultBufferSize());
+        if (progressSubscriber != null) {
+            publisher.subscribe(progressSubscriber);
+        }
+
+        for (final ConversionStage stage : ConversionStage.values()) {
+            statuses.put(stage, Status.PENDING);
+        }
+
+        // The stages are declared after their dependencies, hence the futures of all the dependencies are already present
+        final List<CompletableFuture<?>> executions = new ArrayList<>();
+        for (final ConversionStage stage : ConversionStage.values()) {
+            final CompletableFuture<?>[] dependencyFutures = dependencies.get(stage).stream().map(stages::get).toArray(CompletableFuture[]::new);
+            final StageTask task = tasks.get(stage);
+
+            // The execution is not affected by cancelling the future of the stage, so it tells when the task has returned
+            final CompletableFuture<Void> execution = CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> execute(stage, task), executor);
+            executions.add(execution);
+
+            // Record the failure before the dependents and the completion are notified
+            final CompletableFuture<Void> future = execution.whenComplete((result, error) -> {
+                if (error != null) {
+                    update(stage, Status.FAILED, unwrap(error));
+                }
+            });
+            stages.put(stage, future);
+        }
+
+        completion = CompletableFuture.allOf(stages.values().toArray(CompletableFuture[]::new));
+        completion.whenComplete((result, error) -> closePublisher(error));
+
+        executions.add(completion);
+        termination = CompletableFuture.allOf(executions.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Method to get the future which completes once all the stages have completed, or exceptionally with the cause of
+     * the first failure
+     *
+     * @return returns the future of the complete conversion
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Method to get the future which completes once the conversion has completed and none of the stages is running
+     * anymore. Unlike the completion, it also waits for the stages which were already running when the conversion was
+     * cancelled, so the resources used by the stages can be released safely.
+     *
+     * @return returns the future which completes exceptionally if the conversion has failed or has been cancelled
+     */
+    public CompletableFuture<Void> getTermination() {
+        return termination.copy();
+    }
+
+    /**
+     * Method to get the future of the individual stage such as RELATIONS_FILE, which may complete well before the XSD
+     *
+     * @param stage stage of the conversion
+     * @return returns a future which completes along with the stage
+     */
+    public CompletableFuture<Void> getStage(final ConversionStage stage) {
+        return stages.get(stage).copy();
+    }
+
+    /**
+     * Method to get the current status of the stage
+     *
+     * @param stage stage of the conversion
+     * @return returns the status of the stage
+     */
+    public Status getStatus(final ConversionStage stage) {
+        return statuses.get(stage);
+    }
+
+    /**
+     * Method to get the snapshot of the status of all the stages
+     *
+     * @return returns the status of each stage in the order of the stages
+     */
+    public Map<ConversionStage, Status> getProgress() {
+        return Collections.unmodifiableMap(new EnumMap<>(statuses));
+    }
+
+    /**
+     * Method to get the publisher of the status changes of the stages
+     *
+     * @return returns the publisher which is completed once the conversion has finished, delivering every status change
+     * to each subscriber which keeps requesting
+     */
+    public Flow.Publisher<StageEvent> getEvents() {
+        return publisher;
+    }
+
+    /**
+     * Method to cancel all the stages which have not yet completed, the running stages are not interrupted
+     *
+     * @return returns true if any stage has been cancelled
+     */
+    public boolean cancel() {
+        boolean cancelled = false;
+        for (final Map.Entry<ConversionStage, CompletableFuture<Void>> entry : stages.entrySet()) {
+            if (entry.getValue().cancel(false)) {
+                update(entry.getKey(), Status.FAILED, new CancellationException("Conversion has been cancelled"));
+                cancelled = true;
+            }
+        }
+        return cancelled;
+    }
+
+    // Execute the task of the stage and publish its status
+    private void execute(final ConversionStage stage, final StageTask task) {
+        if (task == null) {
+            update(stage, Status.SKIPPED, null);
+            return;
+        }
+
+        update(stage, Status.RUNNING, null);
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        update(stage, Status.COMPLETED, null);
+    }
+
+    // Record the status and publish it to the subscribers, a failed stage such as a cancelled one keeps its status
+    private synchronized void update(final ConversionStage stage, final Status status, final Throwable error) {
+        if (statuses.get(stage) == Status.FAILED) {
+            return;
+        }
+        statuses.put(stage, status);
+
+        // Blocks only while the buffer of a subscriber is full, the event is never dropped
+        if (!publisher.isClosed()) {
+            publisher.submit(new StageEvent(stage, status, Instant.now(), error));
+        }
+    }
+
+    private synchronized void closePublisher(final Throwable error) {
+        if (error == null) {
+            publisher.close();
+        } else {
+            publisher.closeExceptionally(unwrap(error));
+        }
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,68 @@
+package io.openepcis.webvocabulary.converter.pipeline;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Dependency graph of the conversion stages. Every stage is started on the executor as soon as all of its dependencies
+ * have completed, so the independent stages overlap. Stages without a task are reported as SKIPPED.
+ */
+public class ConversionPipeline {
+
+    private final Map<ConversionStage, StageTask> tasks = new EnumMap<>(ConversionStage.class);
+    private final Map<ConversionStage, Set<ConversionStage>> dependencies = new EnumMap<>(ConversionStage.class);
+
+    public ConversionPipeline() {
+        for (final ConversionStage stage : ConversionStage.values()) {
+            final Set<ConversionStage> stageDependencies = EnumSet.noneOf(ConversionStage.class);
+            stageDependencies.addAll(stage.getDependencies());
+            dependencies.put(stage, stageDependencies);
+        }
+    }
+
+    /**
+     * Method to register the task which is executed for the stage
+     *
+     * @param stage stage of the conversion
+     * @param task  work performed by the stage
+     * @return returns the pipeline for chaining
+     */
+    public ConversionPipeline stage(final ConversionStage stage, final StageTask task) {
+        tasks.put(stage, task);
+        return this;
+    }
+
+    /**
+     * Method to add dependencies to the stage beyond the declared ones, for example when the configuration requires
+     * the complete relations for the stage
+     *
+     * @param stage        stage of the conversion
+     * @param dependencies stages which must be completed before the stage, must be declared before the stage
+     * @return returns the pipeline for chaining
+     */
+    public ConversionPipeline dependsOn(final ConversionStage stage, final ConversionStage... dependencies) {
+        for (final ConversionStage dependency : dependencies) {
+            // Only the earlier stages are allowed so that the graph stays acyclic and can be scheduled in a single pass
+            if (dependency.ordinal() >= stage.ordinal()) {
+                throw new IllegalArgumentException("Stage " + stage + " cannot depend on the later stage " + dependency);
+            }
+            this.dependencies.get(stage).add(dependency);
+        }
+        return this;
+    }
+
+    /**
+     * Method to start all the stages on the provided executor without waiting for their completion
+     *
+     * @param executor           executor on which the stages and the progress notifications are executed
+     * @param progressSubscriber optional subscriber which receives all the stage events from the beginning
+     * @return returns the handle for tracking the progress and the completion of the conversion
+     */
+    public ConversionHandle start(final Executor executor, final Flow.Subscriber<? super StageEvent> progressSubscriber) {
+        return new ConversionHandle(new EnumMap<>(tasks), dependencies, executor, progressSubscriber);
+    }
+}
@@ -0,0 +1,72 @@
+package io.openepcis.webvocabulary.converter.pipeline;
+
+import java.util.Set;
+
+/**
+ * Stages of the vocabulary conversion along with the stages they depend on. The stages are declared in an order in which
+ * every dependency precedes its dependents so that the pipeline can be scheduled in a single pass. Stages without a
+ * dependency among each other such as the extraction of the TypeCodes, linkTypes and classes run concurrently, while
+ * the XSD fragments are written in the order of the document as soon as they and their predecessors are available.
+ */
+public enum ConversionStage {
+    // Load the vocabulary into the in-memory graph or the TDB2 dataset
+    PARSE,
+
+    // Collect the members of the union classes _:u1, _:u2, etc. required for naming the ranges and domains
+    UNION_CLASSES(PARSE),
+
+    // Extract the linkTypes
+    LINK_TYPES(UNION_CLASSES),
+
+    // Extract the TypeCodes and their codes
+    TYPE_CODES(UNION_CLASSES),
+
+    // Extract the classes with their direct and union domain properties
+    CLASSES(UNION_CLASSES),
+
+    // Assign the type and dataType of each property based on the classes and TypeCodes
+    TYPE_ASSIGNMENT(CLASSES, TYPE_CODES),
+
+    // Write the relations file
+    RELATIONS_FILE(TYPE_ASSIGNMENT, LINK_TYPES),
+
+    // Open the XSD file and write the schema element with the namespaces, xml import and LangString type
+    XSD_HEADER(PARSE),
+
+    // Build the complexTypes of the classes and the named choice types
+    CLASS_TYPES(TYPE_ASSIGNMENT),
+
+    // Build the simpleTypes of the TypeCodes, only the names of the classes are required to skip the clashing TypeCodes
+    TYPE_CODE_TYPES(TYPE_CODES, CLASSES),
+
+    // Build the LinkTypeEnum simpleType
+    LINK_TYPE_ENUM(LINK_TYPES),
+
+    // Write the complexTypes of the classes after the header
+    WRITE_CLASS_TYPES(XSD_HEADER, CLASS_TYPES),
+
+    // Write the simpleTypes of the TypeCodes after the classes
+    WRITE_TYPE_CODE_TYPES(WRITE_CLASS_TYPES, TYPE_CODE_TYPES),
+
+    // Write the LinkTypeEnum and close the XSD file
+    WRITE_LINK_TYPE_ENUM(WRITE_TYPE_CODE_TYPES, LINK_TYPE_ENUM),
+
+    // Write the descriptions to the documentation lookup file, if configured
+    DOCUMENTATION_FILE(TYPE_ASSIGNMENT, LINK_TYPES);
+
+    private final Set<ConversionStage> dependencies;
+
+    ConversionStage(final ConversionStage... dependencies) {
+        // EnumSet cannot be used while the enum itself is being initialized
+        this.dependencies = Set.of(dependencies);
+    }
+
+    /**
+     * Method to get the stages which must be completed before this stage can start
+     *
+     * @return returns the direct dependencies of the stage
+     */
+    public Set<ConversionStage> getDependencies() {
+        return dependencies;
+    }
+}
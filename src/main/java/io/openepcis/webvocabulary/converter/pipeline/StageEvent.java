@@ -0,0 +1,32 @@
+package io.openepcis.webvocabulary.converter.pipeline;
+
+import java.time.Instant;
+
+/**
+ * Progress notification published whenever a stage of the conversion changes its status.
+ *
+ * @param stage     stage whose status has changed
+ * @param status    new status of the stage
+ * @param timestamp time at which the status changed
+ * @param error     cause of the failure for the FAILED status, otherwise null
+ */
+public record StageEvent(ConversionStage stage, Status status, Instant timestamp, Throwable error) {
+
+    // Status of the individual stage
+    public enum Status {
+        // Waiting for the dependencies
+        PENDING,
+
+        // Being executed
+        RUNNING,
+
+        // Completed successfully
+        COMPLETED,
+
+        // Not applicable for the configuration such as the documentation file when none is provided
+        SKIPPED,
+
+        // Failed, cancelled or not executed due to the failure of a dependency
+        FAILED
+    }
+}
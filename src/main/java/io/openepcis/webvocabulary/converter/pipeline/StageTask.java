@@ -0,0 +1,15 @@
+package io.openepcis.webvocabulary.converter.pipeline;
+
+/**
+ * Work performed by a single stage of the conversion, the results are shared with the dependent stages by the caller.
+ */
+@FunctionalInterface
+public interface StageTask {
+
+    /**
+     * Method to execute the stage
+     *
+     * @throws Exception exception during the stage which fails the stage and all of its dependents
+     */
+    void run() throws Exception;
+}
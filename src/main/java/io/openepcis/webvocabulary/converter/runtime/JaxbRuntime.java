@@ -0,0 +1,214 @@
+package io.openepcis.webvocabulary.converter.runtime;
+
+import io.openepcis.webvocabulary.converter.xsd.adapter.LangStringAdapter;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Source;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Runtime support for the JAXB classes generated from JsonLdSchemaXSD.xsd. The JAXBContext is expensive to build for
+ * hundreds of classes, so it is created lazily once per process and shared. Marshaller and Unmarshaller are not
+ * thread-safe, so each thread gets its own instance which is created once and reused, wired to a shared LangStringAdapter.
+ */
+public final class JaxbRuntime {
+
+    // Package of the classes generated by xjc from JsonLdSchemaXSD.xsd which has no target namespace
+    public static final String GENERATED_PACKAGE = "generated";
+
+    private static final Map<String, JaxbRuntime> RUNTIMES = new ConcurrentHashMap<>();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final ContextFactory contextFactory;
+    private final LangStringAdapter langStringAdapter = new LangStringAdapter();
+    private volatile JAXBContext context;
+
+    private final ThreadLocal<Marshaller> marshallers = ThreadLocal.withInitial(this::createMarshaller);
+    private final ThreadLocal<Unmarshaller> unmarshallers = ThreadLocal.withInitial(this::createUnmarshaller);
+
+    @FunctionalInterface
+    private interface ContextFactory {
+        JAXBContext create() throws JAXBException;
+    }
+
+    private JaxbRuntime(final ContextFactory contextFactory) {
+        this.contextFactory = contextFactory;
+    }
+
+    /**
+     * Method to get the process wide runtime for the xjc generated package
+     *
+     * @return returns the shared runtime, the JAXBContext is created on first use
+     */
+    public static JaxbRuntime getInstance() {
+        return forPackage(GENERATED_PACKAGE);
+    }
+
+    /**
+     * Method to get the process wide runtime for the provided package(s) of JAXB classes
+     *
+     * @param contextPath colon separated list of packages as accepted by JAXBContext.newInstance
+     * @return returns the shared runtime for the context path
+     */
+    public static JaxbRuntime forPackage(final String contextPath) {
+        return RUNTIMES.computeIfAbsent(contextPath, path -> new JaxbRuntime(() -> JAXBContext.newInstance(path)));
+    }
+
+    /**
+     * Method to get the process wide runtime for the provided JAXB classes
+     *
+     * @param classes JAXB annotated classes to be bound
+     * @return returns the shared runtime for the classes
+     */
+    public static JaxbRuntime forClasses(final Class<?>... classes) {
+        final String key = Arrays.stream(classes).map(Class::getName).collect(Collectors.joining(",", "classes:", ""));
+        return RUNTIMES.computeIfAbsent(key, k -> new JaxbRuntime(() -> JAXBContext.newInstance(classes)));
+    }
+
+    /**
+     * Method to get the shared JAXBContext, created lazily on the first call
+     *
+     * @return returns the JAXBContext
+     */
+    public JAXBContext getContext() {
+        JAXBContext jaxbContext = context;
+
+        if (jaxbContext == null) {
+            synchronized (this) {
+                jaxbContext = context;
+                if (jaxbContext == null) {
+                    try {
+                        jaxbContext = contextFactory.create();
+                    } catch (JAXBException e) {
+                        throw new IllegalStateException("Unable to create the JAXBContext", e);
+                    }
+                    context = jaxbContext;
+                }
+            }
+        }
+        return jaxbContext;
+    }
+
+    /**
+     * Method to get the Marshaller of the current thread. The instance must not be shared with other threads and the
+     * properties modified by the caller remain set for the following calls on the same thread.
+     *
+     * @return returns the Marshaller of the current thread
+     */
+    public Marshaller getMarshaller() {
+        return marshallers.get();
+    }
+
+    /**
+     * Method to get the Unmarshaller of the current thread. The instance must not be shared with other threads.
+     *
+     * @return returns the Unmarshaller of the current thread
+     */
+    public Unmarshaller getUnmarshaller() {
+        return unmarshallers.get();
+    }
+
+    /**
+     * Method to marshal the object as element with the provided name, required as the generated types have no root element
+     *
+     * @param elementName  name of the XML element such as Product
+     * @param type         class of the object
+     * @param value        object to be marshalled
+     * @param outputStream stream onto which the XML document is written
+     * @param <T>          type of the object
+     * @throws JAXBException exception during the marshalling
+     */
+    public <T> void marshal(final QName elementName, final Class<T> type, final T value, final OutputStream outputStream) throws JAXBException {
+        getMarshaller().marshal(new JAXBElement<>(elementName, type, value), outputStream);
+    }
+
+    /**
+     * Method to unmarshal the XML into the provided type irrespective of the root element name
+     *
+     * @param source XML source
+     * @param type   class into which the XML is unmarshalled
+     * @param <T>    type of the object
+     * @return returns the unmarshalled object
+     * @throws JAXBException exception during the unmarshalling
+     */
+    public <T> T unmarshal(final Source source, final Class<T> type) throws JAXBException {
+        return getUnmarshaller().unmarshal(source, type).getValue();
+    }
+
+    /**
+     * Method to marshal a large collection of objects into one XML document as children of the root element. The objects
+     * are written one after another onto the stream so the collection is never held completely in memory.
+     *
+     * @param rootElementName name of the enclosing root element
+     * @param itemElementName name of the element of each object
+     * @param type            class of the objects
+     * @param items           objects to be marshalled, consumed lazily
+     * @param outputStream    stream onto which the XML document is written
+     * @param <T>             type of the objects
+     * @throws JAXBException exception during the marshalling
+     */
+    public <T> void marshalAll(final QName rootElementName, final QName itemElementName, final Class<T> type,
+                               final Iterator<? extends T> items, final OutputStream outputStream) throws JAXBException {
+        final Marshaller marshaller = getMarshaller();
+        final Object fragment = marshaller.getProperty(Marshaller.JAXB_FRAGMENT);
+
+        try {
+            final XMLStreamWriter xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+            xmlStreamWriter.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xmlStreamWriter.writeStartElement(rootElementName.getPrefix(), rootElementName.getLocalPart(), rootElementName.getNamespaceURI());
+            if (!rootElementName.getNamespaceURI().isEmpty()) {
+                xmlStreamWriter.writeNamespace(rootElementName.getPrefix(), rootElementName.getNamespaceURI());
+            }
+
+            // Each object is marshalled as fragment without the XML declaration into the open document
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+            while (items.hasNext()) {
+                marshaller.marshal(new JAXBElement<>(itemElementName, type, items.next()), xmlStreamWriter);
+            }
+
+            xmlStreamWriter.writeEndElement();
+            xmlStreamWriter.writeEndDocument();
+            xmlStreamWriter.flush();
+            xmlStreamWriter.close();
+        } catch (XMLStreamException e) {
+            throw new JAXBException("Unable to write the XML document", e);
+        } finally {
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, fragment);
+        }
+    }
+
+    private Marshaller createMarshaller() {
+        try {
+            final Marshaller marshaller = getContext().createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+            marshaller.setAdapter(LangStringAdapter.class, langStringAdapter);
+            return marshaller;
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Unable to create the Marshaller", e);
+        }
+    }
+
+    private Unmarshaller createUnmarshaller() {
+        try {
+            final Unmarshaller unmarshaller = getContext().createUnmarshaller();
+            unmarshaller.setAdapter(LangStringAdapter.class, langStringAdapter);
+            return unmarshaller;
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Unable to create the Unmarshaller", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.openepcis.webvocabulary.converter.runtime;
+
+import io.openepcis.webvocabulary.converter.xsd.adapter.LangStringAdapter;
+import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+
+/**
+ * Language tagged text of the generated records, the counterpart of the LangString complexType of the generated XSD. The
+ * classes generated by xjc use it for the LangString elements as well, bound through the LangStringAdapter.
+ *
+ * @param value text of the element
+ * @param lang  language of the text written as the required xml:lang attribute
+ */
+@XmlJavaTypeAdapter(LangStringAdapter.class)
+public record LangString(String value, String lang) {
+}
@@ -0,0 +1,36 @@
+package io.openepcis.webvocabulary.converter.runtime;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Codec of the LangString elements used by all the generated codecs, replaces the LangStringAdapter of the JAXB classes.
+ */
+public final class LangStringCodec implements XmlCodec<LangString> {
+
+    public static final LangStringCodec INSTANCE = new LangStringCodec();
+
+    private LangStringCodec() {
+    }
+
+    @Override
+    public void write(final XMLStreamWriter writer, final String elementName, final LangString value) throws XMLStreamException {
+        writer.writeStartElement(elementName);
+        writer.writeAttribute(XMLConstants.XML_NS_PREFIX, XMLConstants.XML_NS_URI, "lang", value.lang());
+        if (value.value() != null) {
+            writer.writeCharacters(value.value());
+        }
+        writer.writeEndElement();
+    }
+
+    @Override
+    public LangString read(final XMLStreamReader reader) throws XMLStreamException {
+        final String lang = reader.getAttributeValue(XMLConstants.XML_NS_URI, "lang");
+        if (lang == null) {
+            throw new XMLStreamException("Attribute xml:lang is required for the element " + reader.getLocalName(), reader.getLocation());
+        }
+        return new LangString(reader.getElementText(), lang);
+    }
+}
@@ -0,0 +1,68 @@
+package io.openepcis.webvocabulary.converter.runtime;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reflection-free reader and writer of one type of the vocabulary, implemented by the codecs generated along with the
+ * Java records by the JavaRecordEmitter. The elements are written in the order of the xsd:sequence of the generated XSD.
+ *
+ * @param <T> record or other type read and written by the codec
+ */
+public interface XmlCodec<T> {
+
+    /**
+     * Method to write the value as element with its attributes and children
+     *
+     * @param writer      StAX writer positioned where the element is written
+     * @param elementName name of the element such as Product
+     * @param value       value to be written, must not be null
+     * @throws XMLStreamException exception during the writing
+     */
+    void write(XMLStreamWriter writer, String elementName, T value) throws XMLStreamException;
+
+    /**
+     * Method to read the value from the element on which the reader is positioned
+     *
+     * @param reader StAX reader positioned at the START_ELEMENT, positioned at the matching END_ELEMENT afterward
+     * @return returns the value read from the element
+     * @throws XMLStreamException exception during the reading or for content not conforming to the XSD type
+     */
+    T read(XMLStreamReader reader) throws XMLStreamException;
+
+    /**
+     * Method to write the value as the root element of a complete XML document
+     *
+     * @param outputStream    stream onto which the UTF-8 document is written, it is not closed
+     * @param rootElementName name of the root element such as Product
+     * @param value           value to be written
+     * @throws XMLStreamException exception during the writing
+     */
+    default void writeDocument(final OutputStream outputStream, final String rootElementName, final T value) throws XMLStreamException {
+        final XMLStreamWriter writer = XmlCodecSupport.createWriter(outputStream);
+        writer.writeStartDocument(XmlCodecSupport.ENCODING, "1.0");
+        write(writer, rootElementName, value);
+        writer.writeEndDocument();
+        writer.close();
+    }
+
+    /**
+     * Method to read the value from the root element of a complete XML document irrespective of its name
+     *
+     * @param inputStream stream containing the XML document, it is not closed
+     * @return returns the value read from the root element
+     * @throws XMLStreamException exception during the reading or for content not conforming to the XSD type
+     */
+    default T readDocument(final InputStream inputStream) throws XMLStreamException {
+        final XMLStreamReader reader = XmlCodecSupport.createReader(inputStream);
+        try {
+            reader.nextTag();
+            return read(reader);
+        } finally {
+            reader.close();
+        }
+    }
+}
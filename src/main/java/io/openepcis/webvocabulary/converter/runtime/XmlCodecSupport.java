@@ -0,0 +1,221 @@
+package io.openepcis.webvocabulary.converter.runtime;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers used by the generated codecs for navigating the elements and converting the simple values between their XSD
+ * lexical forms and the Java types of the record components.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class XmlCodecSupport {
+
+    public static final String ENCODING = "UTF-8";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    // Decimal and exponent notation of the xsd:float lexical space apart from INF, -INF and NaN
+    private static final Pattern FLOAT_PATTERN = Pattern.compile("[+-]?(\\d+(\\.\\d*)?|\\.\\d+)([eE][+-]?\\d+)?");
+
+    /**
+     * Method to create the StAX reader with DTDs and external entities disabled
+     *
+     * @param inputStream XML contents
+     * @return returns the reader positioned at the start of the document
+     * @throws XMLStreamException exception during the creation of the reader
+     */
+    public static XMLStreamReader createReader(final InputStream inputStream) throws XMLStreamException {
+        return XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+    }
+
+    /**
+     * Method to create the UTF-8 StAX writer
+     *
+     * @param outputStream stream onto which the XML is written
+     * @return returns the writer
+     * @throws XMLStreamException exception during the creation of the writer
+     */
+    public static XMLStreamWriter createWriter(final OutputStream outputStream) throws XMLStreamException {
+        return XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, ENCODING);
+    }
+
+    /**
+     * Method to move to the next child element of the current element, skipping whitespace and comments
+     *
+     * @param reader reader positioned at the START_ELEMENT of the parent or the END_ELEMENT of the previous child
+     * @return returns true if positioned at the START_ELEMENT of a child, false if positioned at the END_ELEMENT of the parent
+     * @throws XMLStreamException exception during the reading or for text within element-only content
+     */
+    public static boolean nextChild(final XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            } else if ((event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) && !reader.isWhiteSpace()) {
+                throw new XMLStreamException("Text is not allowed within element-only content", reader.getLocation());
+            }
+        }
+        throw new XMLStreamException("Unexpected end of the document", reader.getLocation());
+    }
+
+    /**
+     * Method to write the element containing only text, nothing is written for null values
+     *
+     * @param writer      StAX writer
+     * @param elementName name of the element
+     * @param text        lexical value of the element
+     * @throws XMLStreamException exception during the writing
+     */
+    public static void writeText(final XMLStreamWriter writer, final String elementName, final String text) throws XMLStreamException {
+        if (text != null) {
+            writer.writeStartElement(elementName);
+            writer.writeCharacters(text);
+            writer.writeEndElement();
+        }
+    }
+
+    /**
+     * Method to build the exception for an element which is not part of the type
+     *
+     * @param reader   reader positioned at the unexpected element
+     * @param typeName name of the type being read
+     * @return returns the exception to be thrown
+     */
+    public static XMLStreamException unexpectedElement(final XMLStreamReader reader, final String typeName) {
+        return new XMLStreamException("Element " + reader.getLocalName() + " is not allowed within " + typeName, reader.getLocation());
+    }
+
+    /**
+     * Method to ensure that the code read from the element is part of the TypeCode
+     *
+     * @param reader   reader used for the location of the error
+     * @param text     lexical value of the element
+     * @param code     code matching the value, null if none matches
+     * @param typeName name of the TypeCode
+     * @param <T>      enum of the TypeCode
+     * @return returns the matching code
+     * @throws XMLStreamException exception if no code matches the value
+     */
+    public static <T> T requireCode(final XMLStreamReader reader, final String text, final T code, final String typeName) throws XMLStreamException {
+        if (code == null) {
+            throw new XMLStreamException("Value " + text + " is not a code of " + typeName, reader.getLocation());
+        }
+        return code;
+    }
+
+    /**
+     * Method to format the value as xsd:integer
+     *
+     * @param value value to be formatted
+     * @return returns the lexical value or null for null
+     */
+    public static String formatInteger(final BigInteger value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Method to parse the xsd:integer value
+     *
+     * @param reader reader used for the location of the error
+     * @param text   lexical value such as +42
+     * @return returns the parsed value
+     * @throws XMLStreamException exception for an invalid lexical value
+     */
+    public static BigInteger parseInteger(final XMLStreamReader reader, final String text) throws XMLStreamException {
+        try {
+            return new BigInteger(text.strip());
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Value " + text + " is not a valid xsd:integer", reader.getLocation(), e);
+        }
+    }
+
+    /**
+     * Method to format the value as xsd:float, the infinities are written as INF and -INF
+     *
+     * @param value value to be formatted
+     * @return returns the lexical value or null for null
+     */
+    public static String formatFloat(final Float value) {
+        if (value == null) {
+            return null;
+        } else if (value == Float.POSITIVE_INFINITY) {
+            return "INF";
+        } else if (value == Float.NEGATIVE_INFINITY) {
+            return "-INF";
+        }
+        return value.toString();
+    }
+
+    /**
+     * Method to parse the xsd:float value including INF, -INF and NaN
+     *
+     * @param reader reader used for the location of the error
+     * @param text   lexical value such as 1.5E2
+     * @return returns the parsed value
+     * @throws XMLStreamException exception for an invalid lexical value
+     */
+    public static Float parseFloat(final XMLStreamReader reader, final String text) throws XMLStreamException {
+        final String value = text.strip();
+        if ("INF".equals(value) || "+INF".equals(value)) {
+            return Float.POSITIVE_INFINITY;
+        } else if ("-INF".equals(value)) {
+            return Float.NEGATIVE_INFINITY;
+        } else if ("NaN".equals(value)) {
+            return Float.NaN;
+        }
+
+        // Java additionally accepts forms such as Infinity, 0x1p3 or the f suffix which are not valid XSD lexical values
+        if (!FLOAT_PATTERN.matcher(value).matches()) {
+            throw new XMLStreamException("Value " + text + " is not a valid xsd:float", reader.getLocation());
+        }
+        return Float.valueOf(value);
+    }
+
+    /**
+     * Method to format the value as xsd:boolean
+     *
+     * @param value value to be formatted
+     * @return returns the lexical value or null for null
+     */
+    public static String formatBoolean(final Boolean value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Method to parse the xsd:boolean value
+     *
+     * @param reader reader used for the location of the error
+     * @param text   lexical value true, false, 1 or 0
+     * @return returns the parsed value
+     * @throws XMLStreamException exception for an invalid lexical value
+     */
+    public static Boolean parseBoolean(final XMLStreamReader reader, final String text) throws XMLStreamException {
+        return switch (text.strip()) {
+            case "true", "1" -> Boolean.TRUE;
+            case "false", "0" -> Boolean.FALSE;
+            default -> throw new XMLStreamException("Value " + text + " is not a valid xsd:boolean", reader.getLocation());
+        };
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        // Disable external entity processing for security
+        final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+}
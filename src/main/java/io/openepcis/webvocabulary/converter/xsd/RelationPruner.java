@@ -0,0 +1,118 @@
+package io.openepcis.webvocabulary.converter.xsd;
+
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.LinkTypeDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.*;
+
+import static io.openepcis.webvocabulary.converter.constant.Constants.THING;
+
+/**
+ * Reduces a {@link RelationDefinition} to the transitive closure of a set of root classes so that only the reachable
+ * complexTypes, TypeCodes and linkTypes are emitted into the XSD.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RelationPruner {
+
+    /**
+     * Method to build a new RelationDefinition containing only the types reachable from the provided root classes by
+     * following the superClass, the property rangeType (including the list ranges) and the TypeCode references.
+     *
+     * @param relationDefinition complete relation definition built from the JSON-LD schema
+     * @param rootClasses        names of the classes from which the traversal starts such as Product, Organization, Place
+     * @return returns the pruned relation definition, or the provided one if no root classes are present
+     */
+    public static RelationDefinition prune(final RelationDefinition relationDefinition, final Collection<String> rootClasses) {
+        if (rootClasses == null || rootClasses.isEmpty()) {
+            return relationDefinition;
+        }
+
+        final Map<String, ClassDefinition> allClasses = Optional.ofNullable(relationDefinition.getClasses()).orElse(Collections.emptyMap());
+        final Map<String, List<PropertyDefinition>> allTypeCodes = Optional.ofNullable(relationDefinition.getTypeCodes()).orElse(Collections.emptyMap());
+
+        // Ensure that all the requested roots are present within the vocabulary
+        for (final String rootClass : rootClasses) {
+            if (!allClasses.containsKey(rootClass)) {
+                throw new IllegalArgumentException("Root class " + rootClass + " is not present within the JSON-LD schema classes");
+            }
+        }
+
+        final Set<String> reachableClasses = new HashSet<>();
+        final Set<String> reachableTypeCodes = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>(rootClasses);
+
+        // Walk the class graph breadth first and collect every class and TypeCode that can be referenced
+        while (!pending.isEmpty()) {
+            final String className = pending.poll();
+            final ClassDefinition classDefinition = allClasses.get(className);
+
+            if (classDefinition == null || !reachableClasses.add(className)) {
+                continue;
+            }
+
+            if (classDefinition.getSuperClass() != null) {
+                pending.add(classDefinition.getSuperClass());
+            }
+
+            if (classDefinition.getProperties() != null) {
+                for (final PropertyDefinition property : classDefinition.getProperties()) {
+                    for (final String rangeType : getRangeTypes(property)) {
+                        if (allClasses.containsKey(rangeType)) {
+                            pending.add(rangeType);
+                        } else if (allTypeCodes.containsKey(rangeType)) {
+                            reachableTypeCodes.add(rangeType);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Preserve the original ordering of the classes and TypeCodes by filtering the existing maps
+        final Map<String, ClassDefinition> prunedClasses = new LinkedHashMap<>();
+        allClasses.forEach((name, definition) -> {
+            if (reachableClasses.contains(name)) {
+                prunedClasses.put(name, definition);
+            }
+        });
+
+        final Map<String, List<PropertyDefinition>> prunedTypeCodes = new LinkedHashMap<>();
+        allTypeCodes.forEach((name, codes) -> {
+            if (reachableTypeCodes.contains(name)) {
+                prunedTypeCodes.put(name, codes);
+            }
+        });
+
+        // Retain the linkTypes which apply to every class (Thing) or to one of the reachable classes
+        final List<LinkTypeDefinition> prunedLinkTypes = new ArrayList<>();
+        if (relationDefinition.getLinkTypes() != null) {
+            for (final LinkTypeDefinition linkType : relationDefinition.getLinkTypes()) {
+                if (THING.equals(linkType.getDomain()) || reachableClasses.contains(linkType.getDomain())) {
+                    prunedLinkTypes.add(linkType);
+                }
+            }
+        }
+
+        final RelationDefinition prunedDefinition = new RelationDefinition();
+        prunedDefinition.setClasses(prunedClasses);
+        prunedDefinition.setTypeCodes(prunedTypeCodes);
+        prunedDefinition.setLinkTypes(prunedLinkTypes);
+        prunedDefinition.setNamespaces(relationDefinition.getNamespaces());
+        return prunedDefinition;
+    }
+
+    //Get the rangeType of the property as list irrespective of single or union range
+    private static List<String> getRangeTypes(final PropertyDefinition property) {
+        final Object range = property.getRangeType();
+
+        if (range instanceof String rangeType) {
+            return List.of(rangeType);
+        } else if (range instanceof List<?> listOfRanges) {
+            return listOfRanges.stream().map(String::valueOf).toList();
+        }
+        return Collections.emptyList();
+    }
+}
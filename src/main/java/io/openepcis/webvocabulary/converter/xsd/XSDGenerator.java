@@ -1,10 +1,18 @@
 package io.openepcis.webvocabulary.converter.xsd;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.documentation.DocumentationLevel;
+import io.openepcis.webvocabulary.converter.emitter.SchemaEmitter;
+import io.openepcis.webvocabulary.converter.emitter.SchemaTraversal;
+import io.openepcis.webvocabulary.converter.emitter.SchemaWriter;
+import io.openepcis.webvocabulary.converter.io.CompressedStreams;
 import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.DocumentationDefinition;
 import io.openepcis.webvocabulary.converter.model.LinkTypeDefinition;
 import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
 import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import lombok.Getter;
+import lombok.Setter;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -21,8 +29,19 @@ import javax.xml.transform.stream.StreamResult;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 
 import static io.openepcis.webvocabulary.converter.constant.Constants.*;
 
@@ -31,23 +50,234 @@ public class XSDGenerator {
 
     final ObjectMapper objectMapper = new ObjectMapper();
 
+    // Root classes whose transitive closure should be emitted, if empty then all the classes are emitted
+    @Getter
+    @Setter
+    private Set<String> rootClasses = new HashSet<>();
+
+    // Level of the descriptions which are added as xsd:documentation within the XSD
+    @Getter
+    @Setter
+    private DocumentationLevel documentationLevel = DocumentationLevel.FULL;
+
+    // File onto which the generated XSD is written
+    @Getter
+    @Setter
+    private File xsdFile = new File("src/main/resources/schema/JsonLdSchemaXSD.xsd");
+
+    // If provided, all the descriptions are additionally written to this lookup file keyed by type and property
+    @Getter
+    @Setter
+    private File documentationFile;
+
+    // If true, every class is emitted as self-contained complexType with the inherited properties instead of xsd:extension of its superClass
+    @Getter
+    @Setter
+    private boolean flattenHierarchy;
+
     public final void generateXSD(final InputStream jsonInputStream) throws IOException, TransformerException, ParserConfigurationException {
-        // Create a new XML document for storing the XSD
+        // Read the relations which may be gzip compressed
+        generateXSD(objectMapper.readValue(CompressedStreams.decompress(jsonInputStream), RelationDefinition.class));
+    }
+
+    /**
+     * Method to generate the XSD from the relations, the XSD is gzip compressed while writing if the xsdFile name ends with .gz
+     *
+     * @param relations relations among the classes, properties, TypeCodes and linkTypes
+     * @throws IOException                  exception during the writing of the XSD or documentation file
+     * @throws TransformerException         exception during the writing of the XSD
+     * @throws ParserConfigurationException exception during the creation of the XSD document
+     */
+    public void generateXSD(final RelationDefinition relations) throws IOException, TransformerException, ParserConfigurationException {
+        // Retain only the types reachable from the root classes, if any provided, and emit the events on the calling thread
+        try {
+            SchemaTraversal.traverse(RelationPruner.prune(relations, rootClasses), newEmitter());
+        } catch (IOException | TransformerException | ParserConfigurationException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to generate the XSD", e);
+        }
+    }
+
+    /**
+     * Method to create the emitter writing the XSD with the configuration of this generator. The document being built is
+     * held by the writer started for each traversal, so the generator can be used for several traversals concurrently
+     * as long as they write to different files.
+     *
+     * @return returns the new emitter to be registered with the SchemaTraversal
+     */
+    public SchemaEmitter newEmitter() {
+        return new XSDEmitter();
+    }
+
+    // Emitter starting a writer with its own XSD document for every traversal
+    private final class XSDEmitter implements SchemaEmitter {
+        @Override
+        public String getName() {
+            return "XSD";
+        }
+
+        // The classes are not pruned here, the traversal only delivers the ones reachable from its roots
+        @Override
+        public SchemaWriter startSchema(final RelationDefinition relationDefinition) throws ParserConfigurationException {
+            return new XSDWriter(relationDefinition);
+        }
+    }
+
+    // Writer building the XSD document of a single traversal event by event
+    private final class XSDWriter implements SchemaWriter {
+        private final Map<Set<String>, String> choiceTypes = new LinkedHashMap<>();
+        private final Document doc;
+        private final Element schemaRoot;
+        private final RelationDefinition relationDefinition;
+        private boolean choiceTypesAppended;
+
+        private XSDWriter(final RelationDefinition relationDefinition) throws ParserConfigurationException {
+            this.doc = newDocument();
+            this.schemaRoot = createSchemaRoot(doc, relationDefinition.getNamespaces());
+            this.relationDefinition = relationDefinition;
+        }
+
+        @Override
+        public void classType(final String className, final ClassDefinition classDefinition) {
+            schemaRoot.appendChild(createComplexType(doc, className, classDefinition, choiceTypes, relationDefinition));
+        }
+
+        @Override
+        public void typeCode(final String typeCodeName, final List<PropertyDefinition> codes) {
+            appendChoiceTypes();
+            processTypeCode(doc, schemaRoot, typeCodeName, codes, relationDefinition);
+        }
+
+        @Override
+        public void linkTypes(final List<LinkTypeDefinition> linkTypes) {
+            appendChoiceTypes();
+            processLinkTypes(doc, schemaRoot, linkTypes);
+        }
+
+        // Write the documentation lookup file, if configured, and the XSD file
+        @Override
+        public void endSchema() throws IOException, TransformerException {
+            appendChoiceTypes();
+
+            //Write all the descriptions to the external documentation lookup file
+            if (documentationFile != null) {
+                writeDocumentationToFile(relationDefinition);
+            }
+
+            //Write all the XSD information to file
+            writeDocumentToFile(doc);
+            System.out.println("********* XSD Generated onto " + xsdFile.getName() + " *********");
+        }
+
+        // The choice types are collected from all the classes, hence they are appended once the first event following the classes arrives
+        private void appendChoiceTypes() {
+            if (!choiceTypesAppended) {
+                processChoiceTypes(doc, schemaRoot, choiceTypes);
+                choiceTypesAppended = true;
+            }
+        }
+    }
+
+    /**
+     * Method to open the XSD file for writing the types fragment by fragment, the schema element with the namespaces,
+     * the xml import and the LangString type are written immediately. The XSD file is only replaced once the writer is
+     * closed, an aborted writer leaves it untouched.
+     *
+     * @param namespaces prefixes and namespaces of the vocabulary
+     * @return returns the writer to which the fragments are appended in the order of the document
+     * @throws IOException                  exception during the opening of the XSD file
+     * @throws TransformerException         exception during the writing of the header
+     * @throws ParserConfigurationException exception during the creation of the header document
+     */
+    public XSDStreamWriter openXSD(final Map<String, String> namespaces) throws IOException, TransformerException, ParserConfigurationException {
+        final Document doc = newDocument();
+        return new XSDStreamWriter(xsdFile, createSchemaRoot(doc, namespaces));
+    }
+
+    /**
+     * Method to build the complexTypes of the classes along with the named choice types as fragment of the XSD
+     *
+     * @param relationDefinition relations containing at least the classes and the TypeCodes
+     * @return returns the detached schema element containing the types
+     * @throws ParserConfigurationException exception during the creation of the fragment document
+     */
+    public Element createClassTypes(final RelationDefinition relationDefinition) throws ParserConfigurationException {
+        final Document doc = newDocument();
+        final Element fragment = createFragment(doc);
+        processClasses(doc, fragment, RelationPruner.prune(relationDefinition, rootClasses));
+        return fragment;
+    }
+
+    /**
+     * Method to build the simpleTypes of the TypeCodes as fragment of the XSD
+     *
+     * @param relationDefinition relations containing at least the TypeCodes and the names of the classes
+     * @return returns the detached schema element containing the types
+     * @throws ParserConfigurationException exception during the creation of the fragment document
+     */
+    public Element createTypeCodeTypes(final RelationDefinition relationDefinition) throws ParserConfigurationException {
+        final Document doc = newDocument();
+        final Element fragment = createFragment(doc);
+        processTypeCodes(doc, fragment, RelationPruner.prune(relationDefinition, rootClasses));
+        return fragment;
+    }
+
+    /**
+     * Method to build the LinkTypeEnum simpleType as fragment of the XSD
+     *
+     * @param relationDefinition relations containing at least the linkTypes
+     * @return returns the detached schema element containing the type
+     * @throws ParserConfigurationException exception during the creation of the fragment document
+     */
+    public Element createLinkTypeEnum(final RelationDefinition relationDefinition) throws ParserConfigurationException {
+        final Document doc = newDocument();
+        final Element fragment = createFragment(doc);
+        final List<LinkTypeDefinition> linkTypes = RelationPruner.prune(relationDefinition, rootClasses).getLinkTypes();
+        processLinkTypes(doc, fragment, linkTypes != null ? linkTypes : List.of());
+        return fragment;
+    }
+
+    /**
+     * Method to write all the descriptions to the documentation lookup file, if configured
+     *
+     * @param relationDefinition complete relations of the vocabulary
+     * @throws IOException exception during the writing of the documentation file
+     */
+    public void writeDocumentation(final RelationDefinition relationDefinition) throws IOException {
+        if (documentationFile != null) {
+            writeDocumentationToFile(RelationPruner.prune(relationDefinition, rootClasses));
+        }
+    }
+
+    private Document newDocument() throws ParserConfigurationException {
         final DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
         final DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-        final Document doc = docBuilder.newDocument();
+        return docBuilder.newDocument();
+    }
 
-        final RelationDefinition relationDefinition = objectMapper.readValue(jsonInputStream, RelationDefinition.class);
+    // Detached schema element which only serves as container of the types of a fragment
+    private Element createFragment(final Document doc) {
+        final Element fragment = doc.createElement("xsd:schema");
+        doc.appendChild(fragment);
+        return fragment;
+    }
 
-        // Create XSD schema root element with all the namespaces
+    // Method to create the schema root element with all the namespaces followed by the xml import and the LangString type
+    private Element createSchemaRoot(final Document doc, final Map<String, String> namespaces) {
         final Element schemaRoot = doc.createElement("xsd:schema");
-        relationDefinition.getNamespaces().forEach((key, namespaceUri) -> {
+        namespaces.forEach((key, namespaceUri) -> {
             // Remove the '#' or '/' character at the end of all the namespaces
             if (namespaceUri.endsWith("/") || namespaceUri.endsWith("#")) {
                 namespaceUri = namespaceUri.substring(0, namespaceUri.length() - 1);
             }
             schemaRoot.setAttribute("xmlns:" + key, namespaceUri);
         });
+
+        // Syntaxes such as N-Triples carry no prefixes, so ensure the xsd prefix used for all the types is always declared
+        if (!schemaRoot.hasAttribute("xmlns:xsd")) {
+            schemaRoot.setAttribute("xmlns:xsd", XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        }
         doc.appendChild(schemaRoot);
 
         // insert the xml:namespace import for language
@@ -58,47 +288,83 @@ public class XSDGenerator {
 
         // Build the generic langType complex type
         addLangStringType(doc, schemaRoot);
-
-        //Process all the class and properties and build XSD
-        processClasses(doc, schemaRoot, relationDefinition);
-
-        //Process all the TypeCodes and build the XSD
-        processTypeCodes(doc, schemaRoot, relationDefinition);
-
-        //Process all the linkTypes and build the XSD
-        processLinkTypes(doc, schemaRoot, relationDefinition);
-
-        //Write all the XSD information to file
-        writeDocumentToFile(doc);
-        System.out.println("********* XSD Generated onto JsonLdSchemaXSD.xsd *********");
+        return schemaRoot;
     }
 
     // Method to generate the XSD for the classes
     private void processClasses(final Document doc, final Element schemaRoot, final RelationDefinition relationDefinition) {
         if (relationDefinition.getClasses() != null) {
+            // Named choice types shared by all the properties with identical union ranges
+            final Map<Set<String>, String> choiceTypes = new LinkedHashMap<>();
+
             for (Map.Entry<String, ClassDefinition> entry : relationDefinition.getClasses().entrySet()) {
-                final Element complexType = createComplexType(doc, entry.getKey(), entry.getValue());
+                final Element complexType = createComplexType(doc, entry.getKey(), entry.getValue(), choiceTypes, relationDefinition);
                 schemaRoot.appendChild(complexType);
             }
+
+            processChoiceTypes(doc, schemaRoot, choiceTypes);
         }
     }
 
+    // Method to generate the named XSD choice complexType for each of the distinct union ranges
+    private void processChoiceTypes(final Document doc, final Element schemaRoot, final Map<Set<String>, String> choiceTypes) {
+        for (Map.Entry<Set<String>, String> entry : choiceTypes.entrySet()) {
+            final Element choiceComplexType = doc.createElement("xsd:complexType");
+            choiceComplexType.setAttribute("name", entry.getValue());
+            final Element choice = doc.createElement("xsd:choice");
+
+            for (final String rangeType : entry.getKey()) {
+                final Element choiceElement = doc.createElement("xsd:element");
+                choiceElement.setAttribute("name", rangeType);
+                choiceElement.setAttribute("type", rangeType);
+                choice.appendChild(choiceElement);
+            }
+            choiceComplexType.appendChild(choice);
+            schemaRoot.appendChild(choiceComplexType);
+        }
+    }
+
+    // Get the name of the shared choice type for the union range, register it if the union is encountered for first time
+    private String getChoiceTypeName(final List<?> listOfRanges, final Map<Set<String>, String> choiceTypes, final RelationDefinition relationDefinition) {
+        final Set<String> members = new LinkedHashSet<>();
+        listOfRanges.forEach(o -> members.add(String.valueOf(o)));
+
+        // Union members are compared as Set irrespective of their order so [A, B] and [B, A] share the same type
+        final String existingChoiceType = choiceTypes.get(members);
+        if (existingChoiceType != null) {
+            return existingChoiceType;
+        }
+
+        // Build the name such as GeoCoordinatesOrGeoShapeChoice and avoid collisions with existing types
+        String choiceTypeName = String.join("Or", members) + CHOICE_SUFFIX;
+        int counter = 1;
+        while (choiceTypes.containsValue(choiceTypeName) || relationDefinition.getClasses().containsKey(choiceTypeName)
+                || (relationDefinition.getTypeCodes() != null && relationDefinition.getTypeCodes().containsKey(choiceTypeName))) {
+            choiceTypeName = String.join("Or", members) + CHOICE_SUFFIX + counter++;
+        }
+        choiceTypes.put(members, choiceTypeName);
+        return choiceTypeName;
+    }
+
 
     // Method to generate the XSD for each of the Class - Properties
-    private Element createComplexType(final Document doc, final String typeName, final ClassDefinition classDefinition) {
+    private Element createComplexType(final Document doc, final String typeName, final ClassDefinition classDefinition,
+                                      final Map<Set<String>, String> choiceTypes, final RelationDefinition relationDefinition) {
         final Element complexType = doc.createElement("xsd:complexType");
         complexType.setAttribute("name", typeName);
 
         //Add the description/documentation for the class in XSD for reference purpose.
-        final Element annotation = doc.createElement("xsd:annotation");
-        final Element documentation = doc.createElement("xsd:documentation");
-        documentation.setAttribute("xml:lang", "en");
-        documentation.setTextContent(classDefinition.getDescription());
-        annotation.appendChild(documentation);
-        complexType.appendChild(annotation);
+        if (documentationLevel == DocumentationLevel.FULL && classDefinition.getDescription() != null) {
+            final Element annotation = doc.createElement("xsd:annotation");
+            final Element documentation = doc.createElement("xsd:documentation");
+            documentation.setAttribute("xml:lang", "en");
+            documentation.setTextContent(classDefinition.getDescription());
+            annotation.appendChild(documentation);
+            complexType.appendChild(annotation);
+        }
 
         final Element sequence = doc.createElement("xsd:sequence");
-        final List<PropertyDefinition> properties = classDefinition.getProperties();
+        final Collection<PropertyDefinition> properties = flattenHierarchy ? resolveInheritedProperties(typeName, relationDefinition) : classDefinition.getProperties();
 
         //Loop over each property and generate the XSD element
         for (PropertyDefinition property : properties) {
@@ -113,37 +379,20 @@ public class XSDGenerator {
                 element.setAttribute("maxOccurs", "unbounded");
                 element.setAttribute("minOccurs", "0");
             } else if (RANGE_TYPE_LIST.equalsIgnoreCase(xsdType) && property.getRangeType() instanceof List<?> listOfRanges && !listOfRanges.isEmpty()) {
-                // For the range type with list "rangeType" : [ "GeoCoordinates", "GeoShape" ] -> build <xsd:choice>
-                final Element annComplexType = doc.createElement("xsd:complexType");
-                final Element choice = doc.createElement("xsd:choice");
-
-                for (Object o : listOfRanges) {
-                    final String rangeType = String.valueOf(o);
-                    final Element choiceElement = doc.createElement("xsd:element");
-                    choiceElement.setAttribute("name", rangeType);
-                    choiceElement.setAttribute("type", rangeType);
-                    choice.appendChild(choiceElement);
-                }
-                annComplexType.appendChild(choice);
-                element.appendChild(annComplexType);
+                // For the range type with list "rangeType" : [ "GeoCoordinates", "GeoShape" ] -> refer the shared named <xsd:choice> type
+                element.setAttribute("type", getChoiceTypeName(listOfRanges, choiceTypes, relationDefinition));
             } else {
                 element.setAttribute("type", xsdType);
             }
 
             // If deprecated property then add the additional annotation with documentation
-            if (property.isDeprecated()) {
-                final Element deprecatedAnnotation = doc.createElement("xsd:annotation");
-                final Element deprecatedDocumentation = doc.createElement("xsd:documentation");
-                deprecatedDocumentation.setTextContent(property.getDescription());
-                deprecatedAnnotation.appendChild(deprecatedDocumentation);
-                element.appendChild(deprecatedAnnotation);
-            }
+            appendDeprecatedDocumentation(doc, element, property.isDeprecated(), property.getDescription());
 
             sequence.appendChild(element);
         }
 
-        //If the class is subclass and has the superclass then add the corresponding tags
-        if (Boolean.TRUE.equals(classDefinition.getIsSubclass()) && classDefinition.getSuperClass() != null) {
+        //If the class is subclass and has the superclass then add the corresponding tags, unless the hierarchy is flattened
+        if (!flattenHierarchy && Boolean.TRUE.equals(classDefinition.getIsSubclass()) && classDefinition.getSuperClass() != null) {
             final Element complexContent = doc.createElement("xsd:complexContent");
             final Element extensionElement = doc.createElement("xsd:extension");
             extensionElement.setAttribute("base", classDefinition.getSuperClass());
@@ -164,69 +413,113 @@ public class XSDGenerator {
         return complexType;
     }
 
+    // Resolve the properties of the class along with the ones inherited through the superClass chain, the inherited ones come first as within xsd:extension
+    private Collection<PropertyDefinition> resolveInheritedProperties(final String className, final RelationDefinition relationDefinition) {
+        final Deque<String> hierarchy = new ArrayDeque<>();
+        final Set<String> visited = new HashSet<>();
+        String current = className;
+
+        while (current != null && visited.add(current) && relationDefinition.getClasses().containsKey(current)) {
+            final ClassDefinition classDefinition = relationDefinition.getClasses().get(current);
+            hierarchy.push(current);
+            current = Boolean.TRUE.equals(classDefinition.getIsSubclass()) ? classDefinition.getSuperClass() : null;
+        }
+
+        final Map<String, PropertyDefinition> properties = new LinkedHashMap<>();
+        final Map<String, String> declaringClasses = new HashMap<>();
+
+        for (final String declaringClass : hierarchy) {
+            final List<PropertyDefinition> declaredProperties = relationDefinition.getClasses().get(declaringClass).getProperties();
+            if (declaredProperties == null) {
+                continue;
+            }
+
+            for (final PropertyDefinition property : declaredProperties) {
+                final PropertyDefinition existing = properties.putIfAbsent(property.getProperty(), property);
+
+                // A property declared again within the hierarchy is emitted once, conflicting types cannot be merged into one sequence
+                if (existing == null) {
+                    declaringClasses.put(property.getProperty(), declaringClass);
+                } else if (!hasSameElementType(existing, property)) {
+                    throw new IllegalArgumentException("Property " + property.getProperty() + " of class " + declaringClass + " conflicts with the property of "
+                            + declaringClasses.get(property.getProperty()) + " within the flattened type " + className);
+                }
+            }
+        }
+        return properties.values();
+    }
+
+    // Check if both the property declarations result in the same XSD element type
+    private boolean hasSameElementType(final PropertyDefinition first, final PropertyDefinition second) {
+        if (first.getRangeType() instanceof List<?> firstRanges && second.getRangeType() instanceof List<?> secondRanges) {
+            return new HashSet<>(firstRanges).equals(new HashSet<>(secondRanges));
+        }
+        return Objects.equals(getXsdType(first), getXsdType(second));
+    }
+
     // Method to generate XSD for each of the Code/TypeCodes
     private void processTypeCodes(final Document doc, final Element schemaRoot, final RelationDefinition relationDefinition) {
         if (relationDefinition.getTypeCodes() != null) {
             for (Map.Entry<String, List<PropertyDefinition>> entry : relationDefinition.getTypeCodes().entrySet()) {
-                final String className = entry.getKey();
-                final List<PropertyDefinition> properties = entry.getValue();
-
-                if (!relationDefinition.getClasses().containsKey(entry.getKey())) {
-                    final Element simpleTypeElement = doc.createElement("xsd:simpleType");
-                    simpleTypeElement.setAttribute("name", className);
-
-                    final Element restrictionElement = doc.createElement("xsd:restriction");
-                    restrictionElement.setAttribute("base", XSD_STRING);
-
-                    for (PropertyDefinition property : properties) {
-                        final Element enumElement = doc.createElement("xsd:enumeration");
-                        enumElement.setAttribute("value", property.getProperty());
-
-                        // If deprecated property then add the additional annotation with documentation
-                        if (property.isDeprecated()) {
-                            final Element deprecatedAnnotation = doc.createElement("xsd:annotation");
-                            final Element deprecatedDocumentation = doc.createElement("xsd:documentation");
-                            deprecatedDocumentation.setTextContent(property.getDescription());
-                            deprecatedAnnotation.appendChild(deprecatedDocumentation);
-                            enumElement.appendChild(deprecatedAnnotation);
-                        }
-
-                        restrictionElement.appendChild(enumElement);
-                    }
-                    simpleTypeElement.appendChild(restrictionElement);
-                    schemaRoot.appendChild(simpleTypeElement);
-                }
+                processTypeCode(doc, schemaRoot, entry.getKey(), entry.getValue(), relationDefinition);
             }
         }
     }
 
-    private void processLinkTypes(final Document doc, final Element schemaRoot, final RelationDefinition relationDefinition) {
-        final Element linkTypeElement = doc.createElement("xsd:simpleType");
-        linkTypeElement.setAttribute("name", "LinkTypeEnum");
+    // Method to generate the XSD simpleType of the TypeCode, unless a class with the same name is present
+    private void processTypeCode(final Document doc, final Element schemaRoot, final String className, final List<PropertyDefinition> properties,
+                                 final RelationDefinition relationDefinition) {
+        if (!relationDefinition.getClasses().containsKey(className)) {
+            final Element simpleTypeElement = doc.createElement("xsd:simpleType");
+            simpleTypeElement.setAttribute("name", className);
 
-        final Element linkTypeRestrictionElement = doc.createElement("xsd:restriction");
-        linkTypeRestrictionElement.setAttribute("base", XSD_STRING);
+            final Element restrictionElement = doc.createElement("xsd:restriction");
+            restrictionElement.setAttribute("base", XSD_STRING);
 
-        if (relationDefinition.getLinkTypes() != null) {
-            for (final LinkTypeDefinition linkType : relationDefinition.getLinkTypes()) {
+            for (PropertyDefinition property : properties) {
                 final Element enumElement = doc.createElement("xsd:enumeration");
-                enumElement.setAttribute("value", linkType.getLinkTypeId());
+                enumElement.setAttribute("value", property.getProperty());
 
                 // If deprecated property then add the additional annotation with documentation
-                if (linkType.isDeprecated()) {
-                    final Element deprecatedAnnotation = doc.createElement("xsd:annotation");
-                    final Element deprecatedDocumentation = doc.createElement("xsd:documentation");
-                    deprecatedDocumentation.setTextContent(linkType.getDescription());
-                    deprecatedAnnotation.appendChild(deprecatedDocumentation);
-                    enumElement.appendChild(deprecatedAnnotation);
-                }
-                linkTypeRestrictionElement.appendChild(enumElement);
+                appendDeprecatedDocumentation(doc, enumElement, property.isDeprecated(), property.getDescription());
+
+                restrictionElement.appendChild(enumElement);
             }
+            simpleTypeElement.appendChild(restrictionElement);
+            schemaRoot.appendChild(simpleTypeElement);
+        }
+    }
+
+    private void processLinkTypes(final Document doc, final Element schemaRoot, final List<LinkTypeDefinition> linkTypes) {
+        final Element linkTypeElement = doc.createElement("xsd:simpleType");
+        linkTypeElement.setAttribute("name", LINK_TYPE_ENUM);
+
+        final Element linkTypeRestrictionElement = doc.createElement("xsd:restriction");
+        linkTypeRestrictionElement.setAttribute("base", XSD_STRING);
+
+        for (final LinkTypeDefinition linkType : linkTypes) {
+            final Element enumElement = doc.createElement("xsd:enumeration");
+            enumElement.setAttribute("value", linkType.getLinkTypeId());
+
+            // If deprecated property then add the additional annotation with documentation
+            appendDeprecatedDocumentation(doc, enumElement, linkType.isDeprecated(), linkType.getDescription());
+            linkTypeRestrictionElement.appendChild(enumElement);
         }
         linkTypeElement.appendChild(linkTypeRestrictionElement);
         schemaRoot.appendChild(linkTypeElement);
     }
 
+    // Add the xsd:annotation with description for the deprecated entries if allowed by the documentation level
+    private void appendDeprecatedDocumentation(final Document doc, final Element element, final boolean deprecated, final String description) {
+        if (deprecated && documentationLevel.includes(true)) {
+            final Element deprecatedAnnotation = doc.createElement("xsd:annotation");
+            final Element deprecatedDocumentation = doc.createElement("xsd:documentation");
+            deprecatedDocumentation.setTextContent(description);
+            deprecatedAnnotation.appendChild(deprecatedDocumentation);
+            element.appendChild(deprecatedAnnotation);
+        }
+    }
+
     //Get the respective XSD type based on the definition. Either simple/complex.
     private String getXsdType(final PropertyDefinition property) {
         if ("simple".equals(property.getDataType())) {
@@ -263,8 +556,17 @@ public class XSDGenerator {
     }
 
     // Method to write all the information to file
-    private void writeDocumentToFile(final Document doc) throws TransformerException {
-        // Write the XML document to file
+    private void writeDocumentToFile(final Document doc) throws TransformerException, IOException {
+        // Write the XML document to file, compressed if the file name ends with .gz
+        try (final OutputStream outputStream = CompressedStreams.newOutputStream(xsdFile)) {
+            final DOMSource source = new DOMSource(doc);
+            final StreamResult result = new StreamResult(outputStream);
+            createTransformer().transform(source, result);
+        }
+    }
+
+    // Create the indenting transformer used for writing the XSD
+    static Transformer createTransformer() throws TransformerException {
         final TransformerFactory transformerFactory = TransformerFactory.newInstance();
 
         // Disable external entity processing for security
@@ -273,9 +575,43 @@ public class XSDGenerator {
 
         final Transformer transformer = transformerFactory.newTransformer();
         transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        final DOMSource source = new DOMSource(doc);
-        final StreamResult result = new StreamResult(new File("src/main/resources/schema/JsonLdSchemaXSD.xsd"));
-        transformer.transform(source, result);
+        return transformer;
+    }
+
+    // Method to write all the descriptions of classes, properties, TypeCodes and linkTypes to the documentation lookup file
+    private void writeDocumentationToFile(final RelationDefinition relationDefinition) throws IOException {
+        final DocumentationDefinition documentationDefinition = new DocumentationDefinition();
+
+        if (relationDefinition.getClasses() != null) {
+            relationDefinition.getClasses().forEach((className, classDefinition) -> {
+                putDescription(documentationDefinition.getTypes(), className, classDefinition.getDescription());
+                if (classDefinition.getProperties() != null) {
+                    classDefinition.getProperties().forEach(property -> putDescription(documentationDefinition.getProperties()
+                            .computeIfAbsent(className, k -> new TreeMap<>()), property.getProperty(), property.getDescription()));
+                }
+            });
+        }
+
+        if (relationDefinition.getTypeCodes() != null) {
+            relationDefinition.getTypeCodes().forEach((typeCodeName, codes) -> codes.forEach(code -> putDescription(documentationDefinition.getProperties()
+                    .computeIfAbsent(typeCodeName, k -> new TreeMap<>()), code.getProperty(), code.getDescription())));
+        }
+
+        if (relationDefinition.getLinkTypes() != null) {
+            relationDefinition.getLinkTypes().forEach(linkType -> putDescription(documentationDefinition.getProperties()
+                    .computeIfAbsent(LINK_TYPE_ENUM, k -> new TreeMap<>()), linkType.getLinkTypeId(), linkType.getDescription()));
+        }
+
+        try (final OutputStream outputStream = CompressedStreams.newOutputStream(documentationFile)) {
+            objectMapper.writeValue(outputStream, documentationDefinition);
+        }
+    }
+
+    // Add the description only if present to keep the lookup file small
+    private void putDescription(final Map<String, String> descriptions, final String key, final String description) {
+        if (key != null && description != null && !description.isBlank()) {
+            descriptions.put(key, description);
+        }
     }
 
     private void addLangStringType(Document doc, Element schemaRoot) {
@@ -0,0 +1,151 @@
+package io.openepcis.webvocabulary.converter.xsd;
+
+import io.openepcis.webvocabulary.converter.io.CompressedStreams;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes the XSD incrementally so that the types built by the individual stages of the conversion are written as soon
+ * as they are available instead of holding the complete document. Every type is serialized on its own within a
+ * temporary schema element, so it is indented exactly as within the complete document and only a single type is
+ * buffered at a time. Fragments must be written in the order of the document. The XSD is written to a temporary file
+ * next to the XSD file and moved into its place on close, so a conversion which fails or is aborted never replaces the
+ * existing XSD with a truncated one.
+ */
+public class XSDStreamWriter implements Closeable {
+
+    private static final String SCHEMA_END_TAG = "</xsd:schema>";
+
+    private final Path xsdFile;
+    private final Path temporaryFile;
+    private final Writer writer;
+    private final Transformer transformer;
+    private boolean closed;
+
+    XSDStreamWriter(final File xsdFile, final Element schemaRoot) throws TransformerException, IOException {
+        this.xsdFile = xsdFile.toPath().toAbsolutePath();
+        this.transformer = XSDGenerator.createTransformer();
+
+        // The temporary file keeps the name of the XSD file as suffix, so that it is compressed in the same way
+        this.temporaryFile = Files.createTempFile(this.xsdFile.getParent(), ".tmp-", "-" + xsdFile.getName());
+        this.writer = new BufferedWriter(new OutputStreamWriter(CompressedStreams.newOutputStream(temporaryFile.toFile()), StandardCharsets.UTF_8));
+
+        try {
+            // Write the declaration, the schema start tag with namespaces and the header types but leave the schema open
+            final String header = serialize(schemaRoot.getOwnerDocument());
+            writer.write(header, 0, header.lastIndexOf(SCHEMA_END_TAG));
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        } catch (TransformerException | IOException | RuntimeException e) {
+            try {
+                abort();
+            } catch (IOException abortException) {
+                e.addSuppressed(abortException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Method to append all the types of the fragment to the XSD, the fragment is consumed while writing
+     *
+     * @param fragment detached schema element containing the types as built by XSDGenerator
+     * @throws TransformerException exception during the serialization of the types
+     * @throws IOException          exception during the writing of the XSD
+     */
+    public synchronized void write(final Element fragment) throws TransformerException, IOException {
+        if (closed) {
+            throw new IOException("XSD " + xsdFile.getFileName() + " has already been closed or aborted");
+        }
+
+        Node type;
+        while ((type = fragment.getFirstChild()) != null) {
+            // Move the type into an empty schema element so that it is indented as a child of the schema
+            final Element wrapper = fragment.getOwnerDocument().createElement(fragment.getTagName());
+            wrapper.appendChild(type);
+
+            final String serialized = serialize(wrapper);
+            int start = serialized.indexOf('>') + 1;
+            while (start < serialized.length() && (serialized.charAt(start) == '\r' || serialized.charAt(start) == '\n')) {
+                start++;
+            }
+            writer.write(serialized, start, serialized.lastIndexOf(SCHEMA_END_TAG) - start);
+        }
+    }
+
+    /**
+     * Method to close the schema element and the underlying stream and to move the completed XSD into the place of the
+     * XSD file, subsequent calls and calls after abort have no effect
+     *
+     * @throws IOException exception during the writing or the moving of the XSD
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            try (writer) {
+                writer.write(SCHEMA_END_TAG);
+                writer.write(System.lineSeparator());
+            }
+            move();
+        } catch (IOException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Method to discard the partially written XSD, the existing XSD file is left untouched. Waits for a concurrent write
+     * to finish, subsequent calls and calls after close have no effect.
+     *
+     * @throws IOException exception during the deletion of the temporary file
+     */
+    public synchronized void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            writer.close();
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    // Replace the XSD file with the completed one, atomically if supported by the file system
+    private void move() throws IOException {
+        try {
+            Files.move(temporaryFile, xsdFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile, xsdFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private String serialize(final Node node) throws TransformerException {
+        final StringWriter serialized = new StringWriter();
+        transformer.transform(new DOMSource(node), new StreamResult(serialized));
+        return serialized.toString();
+    }
+}
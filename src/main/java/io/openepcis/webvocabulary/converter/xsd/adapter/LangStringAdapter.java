@@ -1,43 +1,29 @@
 package io.openepcis.webvocabulary.converter.xsd.adapter;
 
+import io.openepcis.webvocabulary.converter.runtime.LangString;
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-
-// The adapter between LangStringWrapper and LangStringAdapter
-public class LangStringAdapter extends XmlAdapter<List<LangStringWrapper>, Map<String, String>> {
+// The adapter between LangStringWrapper and the LangString record used by the properties of the JAXB classes
+public class LangStringAdapter extends XmlAdapter<LangStringWrapper, LangString> {
 
     @Override
-    public Map<String, String> unmarshal(final List<LangStringWrapper> list) {
-        final Map<String, String> map = new LinkedHashMap<>();
-
-        if (list != null) {
-            for (final LangStringWrapper item : list) {
-                if (item.getLang() != null && item.getValue() != null) {
-                    map.put(item.getLang(), item.getValue());
-                }
-            }
+    public LangString unmarshal(final LangStringWrapper wrapper) {
+        if (wrapper == null) {
+            return null;
         }
 
-        return map;
+        return new LangString(wrapper.getValue(), wrapper.getLang());
     }
 
     @Override
-    public List<LangStringWrapper> marshal(final Map<String, String> map) {
-        final List<LangStringWrapper> list = new ArrayList<>();
-
-        if (map != null) {
-            for (Map.Entry<String, String> entry : map.entrySet()) {
-                final LangStringWrapper wrapper = new LangStringWrapper();
-                wrapper.setLang(entry.getKey());
-                wrapper.setValue(entry.getValue());
-                list.add(wrapper);
-            }
+    public LangStringWrapper marshal(final LangString langString) {
+        if (langString == null) {
+            return null;
         }
 
-        return list;
+        final LangStringWrapper wrapper = new LangStringWrapper();
+        wrapper.setLang(langString.lang());
+        wrapper.setValue(langString.value());
+        return wrapper;
     }
 }
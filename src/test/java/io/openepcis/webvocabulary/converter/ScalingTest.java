@@ -0,0 +1,120 @@
+package io.openepcis.webvocabulary.converter;
+
+import io.openepcis.webvocabulary.converter.support.SyntheticVocabularyGenerator;
+import org.apache.jena.riot.Lang;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Converts synthetic vocabularies of increasing size and fails if the runtime or the allocated memory grow faster than the
+ * allowed bound, i.e. the exponent of the fitted power law size^exponent. The measurements are reported within the
+ * assertion messages. The test is tagged and runs only within the scaling profile as it takes several minutes and measures
+ * wall-clock time. The scale factors, runs and bounds can be overridden using the system properties scaling.factors,
+ * scaling.runs, scaling.maxTimeExponent and scaling.maxMemoryExponent.
+ */
+@Tag("scaling")
+class ScalingTest {
+
+    private static final int[] FACTORS = Arrays.stream(System.getProperty("scaling.factors", "10,100,1000").split(","))
+            .mapToInt(f -> Integer.parseInt(f.strip())).toArray();
+    private static final int RUNS = Integer.parseInt(System.getProperty("scaling.runs", "2"));
+    private static final double MAX_TIME_EXPONENT = Double.parseDouble(System.getProperty("scaling.maxTimeExponent", "1.5"));
+    private static final double MAX_MEMORY_EXPONENT = Double.parseDouble(System.getProperty("scaling.maxMemoryExponent", "1.25"));
+
+    private static final File OUTPUT_DIRECTORY = new File("target/scaling");
+
+    private final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void conversionScalesLinearly() throws ParserConfigurationException, IOException, TransformerException {
+        final double[] sizes = new double[FACTORS.length];
+        final double[] times = new double[FACTORS.length];
+        final double[] allocations = new double[FACTORS.length];
+        final StringBuilder report = new StringBuilder();
+
+        // Warm up the JIT so the smallest size is not dominated by the class loading and interpretation
+        final File warmupVocabulary = writeVocabulary(FACTORS[0]);
+        for (int i = 0; i < 3; i++) {
+            convert(warmupVocabulary);
+        }
+
+        for (int i = 0; i < FACTORS.length; i++) {
+            // The vocabulary is written onto a file as the larger ones exceed the maximum size of a byte array
+            final File vocabulary = writeVocabulary(FACTORS[i]);
+            sizes[i] = vocabulary.length();
+            times[i] = Double.MAX_VALUE;
+            allocations[i] = Double.MAX_VALUE;
+
+            // Take the best of the runs to reduce the noise caused by GC and other processes
+            for (int run = 0; run < RUNS; run++) {
+                final long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+                final long start = System.nanoTime();
+                convert(vocabulary);
+                times[i] = Math.min(times[i], System.nanoTime() - start);
+                allocations[i] = Math.min(allocations[i], threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            }
+            report.append(String.format("%nScale %4dx: %10d bytes, %8.1f ms, %8.1f MB allocated", FACTORS[i], (long) sizes[i], times[i] / 1e6,
+                    allocations[i] / 1e6));
+            Files.delete(vocabulary.toPath());
+        }
+
+        final double timeExponent = fitExponent(sizes, times);
+        final double memoryExponent = fitExponent(sizes, allocations);
+
+        assertTrue(timeExponent <= MAX_TIME_EXPONENT, "Conversion time grows with exponent " + timeExponent + " exceeding " + MAX_TIME_EXPONENT + report);
+        assertTrue(memoryExponent <= MAX_MEMORY_EXPONENT, "Allocated memory grows with exponent " + memoryExponent + " exceeding " + MAX_MEMORY_EXPONENT + report);
+    }
+
+    // Write the vocabulary of the scale factor as N-Triples into the target directory
+    private File writeVocabulary(final int factor) throws IOException {
+        OUTPUT_DIRECTORY.mkdirs();
+        final File vocabulary = new File(OUTPUT_DIRECTORY, "vocabulary-" + factor + "x.nt");
+        try (final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(vocabulary))) {
+            SyntheticVocabularyGenerator.scaled(factor).write(outputStream, Lang.NTRIPLES);
+        }
+        return vocabulary;
+    }
+
+    // Convert the vocabulary writing the relations and XSD into the target directory
+    private void convert(final File vocabulary) throws ParserConfigurationException, IOException, TransformerException {
+        final WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+        webVocabularyParser.setRelationsFile(new File(OUTPUT_DIRECTORY, "JsonLdSchemaRelations.json"));
+        webVocabularyParser.getXsdGenerator().setXsdFile(new File(OUTPUT_DIRECTORY, "JsonLdSchemaXSD.xsd"));
+        try (final InputStream inputStream = new FileInputStream(vocabulary)) {
+            webVocabularyParser.parseJsonLdData(inputStream, Lang.NTRIPLES);
+        }
+    }
+
+    // Least squares slope of log(value) over log(size), i.e. the exponent of value ~ size^exponent
+    private double fitExponent(final double[] sizes, final double[] values) {
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            meanX += Math.log(sizes[i]) / sizes.length;
+            meanY += Math.log(values[i]) / sizes.length;
+        }
+
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            covariance += (Math.log(sizes[i]) - meanX) * (Math.log(values[i]) - meanY);
+            variance += (Math.log(sizes[i]) - meanX) * (Math.log(sizes[i]) - meanX);
+        }
+        return covariance / variance;
+    }
+}
@@ -0,0 +1,64 @@
+package io.openepcis.webvocabulary.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.documentation.DocumentationLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Tdb2StorageTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void generateXsdUsingTdb2Dataset() throws ParserConfigurationException, IOException, TransformerException {
+        // Convert the vocabulary using the default in-memory model as reference
+        final WebVocabularyParser memoryParser = createParser("memory");
+        memoryParser.parseJsonLdData(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"));
+
+        // Convert the vocabulary by bulk-loading it into the TDB2 dataset
+        final Path tdb2Directory = tempDirectory.resolve("tdb2");
+        final WebVocabularyParser tdb2Parser = createParser("tdb2");
+        tdb2Parser.setTdb2Directory(tdb2Directory);
+        tdb2Parser.parseJsonLdData(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"));
+
+        // Convert again reusing the already loaded TDB2 dataset without providing the vocabulary contents
+        final WebVocabularyParser reuseParser = createParser("reuse");
+        reuseParser.setTdb2Directory(tdb2Directory);
+        reuseParser.parseTdb2Dataset();
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(objectMapper.readTree(memoryParser.getRelationsFile()), objectMapper.readTree(tdb2Parser.getRelationsFile()));
+        assertEquals(objectMapper.readTree(memoryParser.getRelationsFile()), objectMapper.readTree(reuseParser.getRelationsFile()));
+        assertEquals(Files.readString(memoryParser.getXsdGenerator().getXsdFile().toPath()), Files.readString(tdb2Parser.getXsdGenerator().getXsdFile().toPath()));
+        assertEquals(Files.readString(memoryParser.getXsdGenerator().getXsdFile().toPath()), Files.readString(reuseParser.getXsdGenerator().getXsdFile().toPath()));
+    }
+
+    @Test
+    void rejectTdb2DatasetWithoutVocabulary() {
+        final WebVocabularyParser webVocabularyParser = createParser("empty");
+        assertThrows(IllegalStateException.class, webVocabularyParser::parseTdb2Dataset);
+
+        webVocabularyParser.setTdb2Directory(tempDirectory.resolve("empty-tdb2"));
+        assertThrows(IllegalStateException.class, webVocabularyParser::parseTdb2Dataset);
+    }
+
+    private WebVocabularyParser createParser(final String name) {
+        final WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+        // Some vocabulary terms carry several rdfs:comment values whose iteration order depends on the storage, so compare without descriptions
+        webVocabularyParser.getXsdGenerator().setDocumentationLevel(DocumentationLevel.NONE);
+        webVocabularyParser.setRelationsFile(new File(tempDirectory.toFile(), name + "-relations.json"));
+        webVocabularyParser.getXsdGenerator().setXsdFile(new File(tempDirectory.toFile(), name + ".xsd"));
+        return webVocabularyParser;
+    }
+}
@@ -1,15 +1,24 @@
 package io.openepcis.webvocabulary.converter;
 
+import io.openepcis.webvocabulary.converter.documentation.DocumentationLevel;
+import io.openepcis.webvocabulary.converter.documentation.DocumentationLookup;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
 import org.junit.jupiter.api.Test;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.concurrent.TimeUnit;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 class XsdGenerationTest {
 
@@ -26,6 +35,51 @@ class XsdGenerationTest {
         assertTrue(expectedXSDFile.exists(), "Expected file JsonLdSchemaRelations.json to exist"); // Assert that the file exists
     }
 
+    @Test
+    void generateXsdWithNamedChoiceTypes() throws ParserConfigurationException, IOException, TransformerException {
+        final InputStream inputStream = getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld");
+        WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+        webVocabularyParser.parseJsonLdData(inputStream);
+
+        final String xsd = Files.readString(expectedXSDFile.toPath());
+        assertFalse(xsd.contains("<xsd:element name=\"manages\">"), "Expected union ranges to refer a named choice type");
+        assertTrue(xsd.contains("<xsd:element name=\"manages\" type=\"OrganizationOrPlaceChoice\"/>"));
+        assertTrue(xsd.contains("<xsd:element name=\"owns\" type=\"OrganizationOrPlaceChoice\"/>"));
+        assertEquals(1, xsd.split("<xsd:complexType name=\"OrganizationOrPlaceChoice\">", -1).length - 1, "Expected a single shared choice type");
+    }
+
+    @Test
+    void generateXsdWithExternalizedDocumentation() throws ParserConfigurationException, IOException, TransformerException {
+        final File documentationFile = new File("target/JsonLdSchemaDocumentation.json");
+        final InputStream inputStream = getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld");
+        WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+        webVocabularyParser.getXsdGenerator().setDocumentationLevel(DocumentationLevel.NONE);
+        webVocabularyParser.getXsdGenerator().setDocumentationFile(documentationFile);
+        webVocabularyParser.parseJsonLdData(inputStream);
+
+        assertFalse(Files.readString(expectedXSDFile.toPath()).contains("xsd:documentation"), "Expected XSD without documentation");
+        assertFalse(Files.readString(expectedRelationsFile.toPath()).contains("\"description\""), "Expected relations without descriptions");
+
+        final DocumentationLookup documentationLookup = new DocumentationLookup(documentationFile.toPath());
+        assertTrue(documentationLookup.getDescription("Product").isPresent());
+        assertTrue(documentationLookup.getDescription("Product", "gtin").isPresent());
+        assertTrue(documentationLookup.getDescription("Product", "unknownProperty").isEmpty());
+    }
+
+    @Test
+    void generateXsdFromTurtleStream() throws ParserConfigurationException, IOException, TransformerException {
+        // Convert the GS1 vocabulary to Turtle and let the parser detect the syntax
+        final Model model = ModelFactory.createDefaultModel();
+        RDFDataMgr.read(model, getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"), Lang.JSONLD);
+        final ByteArrayOutputStream turtleStream = new ByteArrayOutputStream();
+        RDFDataMgr.write(turtleStream, model, Lang.TURTLE);
+
+        WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+        webVocabularyParser.parseJsonLdData(new ByteArrayInputStream(turtleStream.toByteArray()));
+
+        assertTrue(Files.readString(expectedXSDFile.toPath()).contains("<xsd:complexType name=\"Product\">"), "Expected Product complexType in XSD");
+    }
+
     @Test
     void generateXsdFromUrl() throws ParserConfigurationException, IOException, TransformerException {
         final String jsonLdURL = "https://raw.githubusercontent.com/gs1/WebVoc/refs/heads/master/v1.11/gs1Voc_v1_11.jsonld";
@@ -0,0 +1,118 @@
+package io.openepcis.webvocabulary.converter.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import generated.FoodBeverageTobaccoProduct;
+import io.openepcis.webvocabulary.converter.codegen.JavaRecordEmitter;
+import io.openepcis.webvocabulary.converter.emitter.SchemaTraversal;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema;
+import io.openepcis.webvocabulary.converter.instance.JsonLdToXmlConverter;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import io.openepcis.webvocabulary.converter.runtime.JaxbRuntime;
+import io.openepcis.webvocabulary.converter.runtime.XmlCodec;
+import io.openepcis.webvocabulary.converter.support.SourceCompiler;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the records and reflection-free StAX codecs generated by the JavaRecordEmitter from the GS1 relations against
+ * the classes generated by xjc from the XSD of the same relations (package generated) for reading and writing the same
+ * product. Both sides run on the JDK StAX implementation and JAXB reuses its context and marshallers through the
+ * JaxbRuntime.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    private static final String ROOT_ELEMENT = "FoodBeverageTobaccoProduct";
+
+    // Converted into the instance document covering text, LangString, TypeCode and nested class elements. The elements
+    // mapped to primitives by xjc are always written by JAXB, so the product provides them as well
+    private static final String PRODUCT = """
+            {
+              "@context": {"gs1": "https://gs1.org/voc/"},
+              "@id": "https://id.gs1.org/01/09506000134352",
+              "@type": "gs1:FoodBeverageTobaccoProduct",
+              "gs1:productName": [{"@value": "Dal Giardino Risotto", "@language": "en"}, {"@value": "Risotto Dal Giardino", "@language": "it"}],
+              "gs1:allergenStatement": {"@value": "Contains milk", "@language": "en"},
+              "gs1:isSliced": {"@id": "gs1:NonbinaryLogicCode-FALSE"},
+              "gs1:gtin": "09506000134352",
+              "gs1:netContent": {"gs1:value": 500, "@type": "gs1:QuantitativeValue", "gs1:unitCode": "GRM"},
+              "gs1:brand": {"@type": "gs1:Brand", "gs1:brandName": {"@value": "Dal Giardino", "@language": "en"}},
+              "gs1:isProductRecalled": false,
+              "gs1:juiceContentPercent": 12.5,
+              "gs1:numberOfServingsPerPackage": 4
+            }
+            """;
+
+    private byte[] instance;
+    private XmlCodec<Object> codec;
+    private Object record;
+    private JaxbRuntime jaxbRuntime;
+    private FoodBeverageTobaccoProduct jaxbProduct;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        final Path directory = Files.createTempDirectory("codec-benchmark");
+        final RelationDefinition relationDefinition;
+        try (final InputStream inputStream = getClass().getResourceAsStream("/schema/JsonLdSchemaRelations.json")) {
+            relationDefinition = new ObjectMapper().readValue(inputStream, RelationDefinition.class);
+        }
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new JsonLdToXmlConverter(new InstanceSchema(relationDefinition)).convert(new ByteArrayInputStream(PRODUCT.getBytes(StandardCharsets.UTF_8)), outputStream);
+        instance = outputStream.toByteArray();
+
+        final JavaRecordEmitter javaRecordEmitter = new JavaRecordEmitter();
+        javaRecordEmitter.setOutputDirectory(directory.resolve("sources").toFile());
+        SchemaTraversal.traverse(relationDefinition, javaRecordEmitter);
+        final ClassLoader classLoader = SourceCompiler.compile(directory.resolve("sources"), directory.resolve("classes"));
+        codec = (XmlCodec<Object>) classLoader.loadClass(javaRecordEmitter.getPackageName() + "." + ROOT_ELEMENT + "Codec").getField("INSTANCE").get(null);
+        record = codec.readDocument(new ByteArrayInputStream(instance));
+
+        jaxbRuntime = JaxbRuntime.getInstance();
+        jaxbProduct = jaxbUnmarshal();
+
+        // Both sides have to read the complete document, the codec reads what JAXB writes
+        if (!record.equals(codec.readDocument(new ByteArrayInputStream(jaxbMarshal().toByteArray())))) {
+            throw new IllegalStateException("Codec and JAXB do not read the same content");
+        }
+    }
+
+    @Benchmark
+    public Object codecRead() throws Exception {
+        return codec.readDocument(new ByteArrayInputStream(instance));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream codecWrite() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(instance.length);
+        codec.writeDocument(outputStream, ROOT_ELEMENT, record);
+        return outputStream;
+    }
+
+    @Benchmark
+    public FoodBeverageTobaccoProduct jaxbUnmarshal() throws Exception {
+        return jaxbRuntime.unmarshal(new StreamSource(new ByteArrayInputStream(instance)), FoodBeverageTobaccoProduct.class);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream jaxbMarshal() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(instance.length);
+        jaxbRuntime.marshal(new QName(ROOT_ELEMENT), FoodBeverageTobaccoProduct.class, jaxbProduct, outputStream);
+        return outputStream;
+    }
+}
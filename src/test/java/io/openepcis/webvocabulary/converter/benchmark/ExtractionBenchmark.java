@@ -0,0 +1,52 @@
+package io.openepcis.webvocabulary.converter.benchmark;
+
+import io.openepcis.webvocabulary.converter.WebVocabularyParser;
+import io.openepcis.webvocabulary.converter.graph.GraphImplementation;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time required for extracting the relations from the GS1 vocabulary loaded into each of the in-memory
+ * graph implementations, with and without freezing the graph after loading.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    @Param({"DEFAULT", "GRAPH_MEM2_LEGACY", "GRAPH_MEM2_FAST", "GRAPH_MEM2_ROARING"})
+    private GraphImplementation graphImplementation;
+
+    @Param({"false", "true"})
+    private boolean freezeGraph;
+
+    private Model model;
+    private final WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+
+    @Setup
+    public void setup() throws IOException {
+        final Graph graph = graphImplementation.createGraph();
+        try (final InputStream inputStream = getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld")) {
+            RDFParser.source(inputStream).lang(Lang.JSONLD).parse(graph);
+        }
+        model = ModelFactory.createModelForGraph(freezeGraph ? new GraphReadOnly(graph) : graph);
+    }
+
+    @Benchmark
+    public Map<String, Object> extractRelations() {
+        return webVocabularyParser.extractRelations(model);
+    }
+}
@@ -0,0 +1,125 @@
+package io.openepcis.webvocabulary.converter.benchmark;
+
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import io.openepcis.webvocabulary.converter.runtime.JaxbRuntime;
+import io.openepcis.webvocabulary.converter.support.LocalSchemaFactory;
+import io.openepcis.webvocabulary.converter.support.XjcCompiler;
+import io.openepcis.webvocabulary.converter.xsd.XSDGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the XSD generated with xsd:extension of the superClass against the flattened hierarchy for compiling the
+ * schema, validating an instance, parsing it with the schema attached as done by a validating unmarshaller and
+ * unmarshalling it into the classes generated by xjc from the XSD of the respective mode. The classes form a single
+ * inheritance chain of the configured depth, the instance is of the deepest class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HierarchyModeBenchmark {
+
+    private static final int PROPERTIES_PER_CLASS = 8;
+
+    @Param({"false", "true"})
+    private boolean flattenHierarchy;
+
+    @Param({"2", "8"})
+    private int depth;
+
+    private File xsdFile;
+    private Schema schema;
+    private SAXParserFactory parserFactory;
+    private byte[] instance;
+    private Class<?> rootClass;
+    private JaxbRuntime jaxbRuntime;
+
+    @Setup
+    public void setup() throws Exception {
+        // Inheritance chain Level0 <- Level1 <- ... each declaring its own properties
+        final RelationDefinition relationDefinition = new RelationDefinition();
+        relationDefinition.setNamespaces(Map.of());
+        relationDefinition.setClasses(new LinkedHashMap<>());
+        final StringBuilder elements = new StringBuilder();
+        for (int level = 0; level < depth; level++) {
+            final List<PropertyDefinition> properties = new ArrayList<>();
+            for (int i = 0; i < PROPERTIES_PER_CLASS; i++) {
+                final PropertyDefinition property = new PropertyDefinition();
+                property.setProperty("level" + level + "Property" + i);
+                property.setRangeType("xsd:string");
+                property.setDataType("simple");
+                property.setType("simple");
+                properties.add(property);
+                elements.append('<').append(property.getProperty()).append(">value ").append(i).append("</").append(property.getProperty()).append('>');
+            }
+            final ClassDefinition classDefinition = new ClassDefinition();
+            classDefinition.setIsSubclass(level > 0);
+            classDefinition.setSuperClass(level > 0 ? "Level" + (level - 1) : null);
+            classDefinition.setProperties(properties);
+            relationDefinition.getClasses().put("Level" + level, classDefinition);
+        }
+
+        final String rootType = "Level" + (depth - 1);
+        xsdFile = Files.createTempFile("hierarchy-" + flattenHierarchy, ".xsd").toFile();
+        xsdFile.deleteOnExit();
+        final XSDGenerator xsdGenerator = new XSDGenerator();
+        xsdGenerator.setFlattenHierarchy(flattenHierarchy);
+        xsdGenerator.setXsdFile(xsdFile);
+        xsdGenerator.generateXSD(relationDefinition);
+
+        schema = LocalSchemaFactory.compile(xsdFile, rootType);
+        parserFactory = SAXParserFactory.newInstance();
+        parserFactory.setNamespaceAware(true);
+        parserFactory.setSchema(schema);
+        instance = ("<" + rootType + " id=\"https://example.org/1\">" + elements + "</" + rootType + ">").getBytes(StandardCharsets.UTF_8);
+
+        // The package is distinct per configuration as the JAXB runtimes are shared within the JVM
+        final String packageName = "hierarchy.depth" + depth + (flattenHierarchy ? ".flattened" : ".extension");
+        final ClassLoader classLoader = XjcCompiler.compile(xsdFile, packageName, Files.createTempDirectory("hierarchy-xjc"));
+        rootClass = classLoader.loadClass(packageName + "." + rootType);
+        jaxbRuntime = JaxbRuntime.forClasses(rootClass);
+        if (!rootClass.isInstance(unmarshal())) {
+            throw new IllegalStateException("Instance is not unmarshalled into " + rootClass.getName());
+        }
+    }
+
+    @Benchmark
+    public Schema compileSchema() throws Exception {
+        return LocalSchemaFactory.compile(xsdFile, "Level" + (depth - 1));
+    }
+
+    @Benchmark
+    public void validate() throws Exception {
+        final Validator validator = schema.newValidator();
+        validator.validate(new StreamSource(new ByteArrayInputStream(instance)));
+    }
+
+    @Benchmark
+    public void parseWithSchema() throws Exception {
+        parserFactory.newSAXParser().parse(new ByteArrayInputStream(instance), new DefaultHandler());
+    }
+
+    @Benchmark
+    public Object unmarshal() throws Exception {
+        return jaxbRuntime.unmarshal(new StreamSource(new ByteArrayInputStream(instance)), rootClass);
+    }
+}
@@ -0,0 +1,59 @@
+package io.openepcis.webvocabulary.converter.benchmark;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time required by Apache Jena to parse the GS1 vocabulary in each of the supported syntaxes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseSyntaxBenchmark {
+
+    @Param({"JSON-LD", "Turtle", "N-Triples", "RDF-THRIFT"})
+    private String syntax;
+
+    private Lang lang;
+    private byte[] contents;
+
+    @Setup
+    public void setup() throws IOException {
+        // Read the GS1 vocabulary once and convert it into the syntax under test
+        final Model model = ModelFactory.createDefaultModel();
+        try (final InputStream inputStream = getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld")) {
+            RDFDataMgr.read(model, inputStream, Lang.JSONLD);
+        }
+
+        lang = RDFLanguages.nameToLang(syntax);
+        if (lang == Lang.JSONLD) {
+            try (final InputStream inputStream = getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld")) {
+                contents = inputStream.readAllBytes();
+            }
+        } else {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            RDFDataMgr.write(outputStream, model, lang);
+            contents = outputStream.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public Model parse() {
+        final Model model = ModelFactory.createDefaultModel();
+        RDFDataMgr.read(model, new ByteArrayInputStream(contents), lang);
+        return model;
+    }
+}
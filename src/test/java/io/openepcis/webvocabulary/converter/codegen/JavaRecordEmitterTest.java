@@ -0,0 +1,168 @@
+package io.openepcis.webvocabulary.converter.codegen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.emitter.SchemaTraversal;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import io.openepcis.webvocabulary.converter.runtime.LangString;
+import io.openepcis.webvocabulary.converter.runtime.XmlCodec;
+import io.openepcis.webvocabulary.converter.support.LocalSchemaFactory;
+import io.openepcis.webvocabulary.converter.support.SourceCompiler;
+import io.openepcis.webvocabulary.converter.xsd.XSDGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaRecordEmitterTest {
+
+    private static final String PACKAGE_NAME = "generated.records";
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void roundTripConformsToXsd() throws Exception {
+        final RelationDefinition relationDefinition = readRelations();
+        final JavaRecordEmitter javaRecordEmitter = createEmitter();
+        final XSDGenerator xsdGenerator = new XSDGenerator();
+        xsdGenerator.setXsdFile(tempDirectory.resolve("extension.xsd").toFile());
+        new SchemaTraversal().register(javaRecordEmitter).register(xsdGenerator.newEmitter()).generate(relationDefinition).get(1, TimeUnit.MINUTES);
+
+        final XSDGenerator flattenedGenerator = new XSDGenerator();
+        flattenedGenerator.setFlattenHierarchy(true);
+        flattenedGenerator.setXsdFile(tempDirectory.resolve("flattened.xsd").toFile());
+        flattenedGenerator.generateXSD(relationDefinition);
+
+        // The TypeCode clashing with the class is skipped as within the XSD
+        final ClassLoader classLoader = SourceCompiler.compile(tempDirectory.resolve("sources"), tempDirectory.resolve("classes"));
+        assertTrue(classLoader.loadClass(PACKAGE_NAME + ".Place").isRecord());
+        assertTrue(classLoader.loadClass(PACKAGE_NAME + ".NonbinaryLogicCode").isEnum());
+
+        final byte[] instance = readResource("/codegen/food-product.xml");
+        final XmlCodec<Object> codec = codec(classLoader, "FoodProduct");
+        final Object product = codec.readDocument(new ByteArrayInputStream(instance));
+
+        // Inherited components precede the own ones, the simple values are converted into their Java types
+        assertEquals(List.of("id", "gtin", "productName", "netContent", "isSliced", "count", "weight", "organic", "releaseDate", "location", "extra",
+                "oldCode", "ingredient", "default_"), List.of(product.getClass().getRecordComponents()).stream().map(component -> component.getName()).toList());
+        assertEquals("https://id.gs1.org/01/09506000134352", component(product, "id"));
+        assertEquals(List.of(new LangString("Mushroom risotto", "en"), new LangString("Pilzrisotto", "de")), component(product, "productName"));
+        assertEquals("NOT-APPLICABLE", ((Enum<?>) component(product, "isSliced")).getClass().getMethod("value").invoke(component(product, "isSliced")));
+        assertEquals(BigInteger.valueOf(12), component(product, "count"));
+        assertEquals(1.25f, component(product, "weight"));
+        assertEquals(Boolean.TRUE, component(product, "organic"));
+        assertEquals("<unparsed> & kept", component(product, "extra"));
+        assertNull(component(component(product, "location"), "organization"));
+        assertEquals("Hauptstraße 1, Köln", component(component(component(product, "location"), "place"), "address"));
+
+        // Writing reproduces the document, reading the written document reproduces the record
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        codec.writeDocument(outputStream, "FoodProduct", product);
+        assertEquals(stripProlog(new String(instance, StandardCharsets.UTF_8)), stripProlog(outputStream.toString(StandardCharsets.UTF_8)));
+        assertEquals(product, codec.readDocument(new ByteArrayInputStream(outputStream.toByteArray())));
+
+        // The written document is valid for the XSD with xsd:extension as well as for the flattened one
+        for (final File xsdFile : List.of(xsdGenerator.getXsdFile(), flattenedGenerator.getXsdFile())) {
+            assertDoesNotThrow(() -> LocalSchemaFactory.compile(xsdFile, "FoodProduct").newValidator()
+                    .validate(new StreamSource(new ByteArrayInputStream(outputStream.toByteArray()))), xsdFile.getName());
+        }
+    }
+
+    @Test
+    void rejectNonConformingContent() throws Exception {
+        new SchemaTraversal().register(createEmitter()).generate(readRelations()).get(1, TimeUnit.MINUTES);
+        final ClassLoader classLoader = SourceCompiler.compile(tempDirectory.resolve("sources"), tempDirectory.resolve("classes"));
+        final XmlCodec<Object> codec = codec(classLoader, "FoodProduct");
+        final String instance = new String(readResource("/codegen/food-product.xml"), StandardCharsets.UTF_8);
+
+        assertRejected(codec, instance.replace("<default>yes</default>", "<unknown>yes</unknown>"), "Element unknown is not allowed within FoodProduct");
+        assertRejected(codec, instance.replace(">NOT-APPLICABLE<", ">MAYBE<"), "Value MAYBE is not a code of NonbinaryLogicCode");
+        assertRejected(codec, instance.replace(">12<", ">twelve<"), "Value twelve is not a valid xsd:integer");
+        assertRejected(codec, instance.replace(">1.25<", ">1.25f<"), "Value 1.25f is not a valid xsd:float");
+        assertRejected(codec, instance.replace("<productName xml:lang=\"en\">", "<productName>"), "Attribute xml:lang is required for the element productName");
+        assertRejected(codec, instance.replace("<location><Place>", "<location><Organization/><Place>"), "Only one of Organization, Place is allowed within OrganizationOrPlaceChoice");
+
+        // The choice record holds at most one member, hence the codec never writes several members of the xsd:choice
+        final Class<?> choice = classLoader.loadClass(PACKAGE_NAME + ".OrganizationOrPlaceChoice");
+        final Object organization = codec(classLoader, "Organization").readDocument(new ByteArrayInputStream("<Organization/>".getBytes(StandardCharsets.UTF_8)));
+        final Object place = codec(classLoader, "Place").readDocument(new ByteArrayInputStream("<Place/>".getBytes(StandardCharsets.UTF_8)));
+        final InvocationTargetException exception = assertThrows(InvocationTargetException.class,
+                () -> choice.getConstructor(organization.getClass(), place.getClass()).newInstance(organization, place));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertNotNull(choice.getConstructor(organization.getClass(), place.getClass()).newInstance(null, place));
+
+        // Lookup of the codes and linkTypes without reflection, including the ones which are not valid Java identifiers
+        final Class<?> linkTypes = classLoader.loadClass(PACKAGE_NAME + ".LinkTypeEnum");
+        assertEquals("gs1_certificationInfo", linkTypes.getMethod("fromValue", String.class).invoke(null, "gs1:certificationInfo").toString());
+        final Class<?> codes = classLoader.loadClass(PACKAGE_NAME + ".NonbinaryLogicCode");
+        assertEquals("_1A", codes.getMethod("fromValue", String.class).invoke(null, "1A").toString());
+        assertEquals("BY_VALUE_", codes.getMethod("fromValue", String.class).invoke(null, "BY_VALUE").toString());
+        assertNull(codes.getMethod("fromValue", String.class).invoke(null, "CLASHING"));
+    }
+
+    @Test
+    void generateGs1Records() throws Exception {
+        final RelationDefinition relationDefinition = new ObjectMapper().readValue(new File("src/main/resources/schema/JsonLdSchemaRelations.json"), RelationDefinition.class);
+        new SchemaTraversal().register(createEmitter()).generate(relationDefinition).get(1, TimeUnit.MINUTES);
+
+        // Every class of the GS1 vocabulary becomes a record along with its codec which compile together
+        final ClassLoader classLoader = SourceCompiler.compile(tempDirectory.resolve("sources"), tempDirectory.resolve("classes"));
+        for (final String className : relationDefinition.getClasses().keySet()) {
+            assertTrue(classLoader.loadClass(PACKAGE_NAME + "." + className).isRecord(), className);
+            assertTrue(XmlCodec.class.isAssignableFrom(classLoader.loadClass(PACKAGE_NAME + "." + className + "Codec")), className);
+        }
+        assertEquals(relationDefinition.getLinkTypes().size(), classLoader.loadClass(PACKAGE_NAME + ".LinkTypeEnum").getEnumConstants().length);
+    }
+
+    private JavaRecordEmitter createEmitter() {
+        final JavaRecordEmitter javaRecordEmitter = new JavaRecordEmitter();
+        javaRecordEmitter.setOutputDirectory(tempDirectory.resolve("sources").toFile());
+        javaRecordEmitter.setPackageName(PACKAGE_NAME);
+        return javaRecordEmitter;
+    }
+
+    private RelationDefinition readRelations() throws Exception {
+        try (final InputStream inputStream = getClass().getResourceAsStream("/codegen/relations.json")) {
+            return new ObjectMapper().readValue(inputStream, RelationDefinition.class);
+        }
+    }
+
+    private byte[] readResource(final String name) throws Exception {
+        try (final InputStream inputStream = getClass().getResourceAsStream(name)) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private void assertRejected(final XmlCodec<Object> codec, final String instance, final String message) {
+        final XMLStreamException exception = assertThrows(XMLStreamException.class,
+                () -> codec.readDocument(new ByteArrayInputStream(instance.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(exception.getMessage().contains(message), exception.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static XmlCodec<Object> codec(final ClassLoader classLoader, final String recordName) throws ReflectiveOperationException {
+        return (XmlCodec<Object>) classLoader.loadClass(PACKAGE_NAME + "." + recordName + "Codec").getField("INSTANCE").get(null);
+    }
+
+    private static Object component(final Object record, final String name) throws ReflectiveOperationException {
+        return record.getClass().getMethod(name).invoke(record);
+    }
+
+    private static String stripProlog(final String document) {
+        return document.substring(document.indexOf("?>") + 2).strip();
+    }
+}
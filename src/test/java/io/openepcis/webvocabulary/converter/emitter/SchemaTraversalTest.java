@@ -0,0 +1,243 @@
+package io.openepcis.webvocabulary.converter.emitter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.WebVocabularyParser;
+import io.openepcis.webvocabulary.converter.jsonschema.JsonSchemaEmitter;
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.LinkTypeDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import io.openepcis.webvocabulary.converter.xsd.XSDGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaTraversalTest {
+
+    private static ExecutorService executor;
+
+    @TempDir
+    Path tempDirectory;
+
+    @BeforeAll
+    static void createExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void emitXsdAndJsonSchemaFromOneTraversal() throws Exception {
+        final WebVocabularyParser xsdParser = createParser("xsd-only");
+        xsdParser.parseJsonLdData(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"));
+
+        final WebVocabularyParser emittingParser = createParser("emitters");
+        final JsonSchemaEmitter jsonSchemaEmitter = new JsonSchemaEmitter();
+        jsonSchemaEmitter.setJsonSchemaFile(tempDirectory.resolve("schema.json").toFile());
+        emittingParser.getSchemaEmitters().add(jsonSchemaEmitter);
+        emittingParser.parseJsonLdData(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"));
+
+        // The XSD emitted alongside the JSON Schema is identical to the one generated on its own
+        assertEquals(Files.readString(xsdParser.getXsdGenerator().getXsdFile().toPath()), Files.readString(emittingParser.getXsdGenerator().getXsdFile().toPath()));
+
+        // Every class, every TypeCode not clashing with a class and the linkTypes are present within the JSON Schema
+        final RelationDefinition relationDefinition = new ObjectMapper().readValue(emittingParser.getRelationsFile(), RelationDefinition.class);
+        final JsonNode definitions = new ObjectMapper().readTree(jsonSchemaEmitter.getJsonSchemaFile()).get("$defs");
+        relationDefinition.getClasses().keySet().forEach(className -> assertTrue(definitions.has(className), className));
+        relationDefinition.getTypeCodes().keySet().forEach(typeCodeName -> assertTrue(definitions.has(typeCodeName), typeCodeName));
+        assertEquals(relationDefinition.getLinkTypes().size(), definitions.get("LinkTypeEnum").get("enum").size());
+
+        // The subclass references its superClass and every reference can be resolved
+        assertEquals("#/$defs/Product", definitions.get("FoodBeverageTobaccoProduct").get("allOf").get(0).get("$ref").asText());
+        final List<String> references = new ArrayList<>();
+        definitions.findValues("$ref").forEach(reference -> references.add(reference.asText()));
+        assertFalse(references.isEmpty());
+        references.forEach(reference -> assertTrue(definitions.has(reference.substring("#/$defs/".length())), reference));
+    }
+
+    @Test
+    void emittersReceiveEventsConcurrently() throws Exception {
+        // Each emitter waits within its first class until the other one has reached it as well, which only succeeds if both run at the same time
+        final CountDownLatch rendezvous = new CountDownLatch(2);
+        final RecordingEmitter first = new RecordingEmitter("first", rendezvous);
+        final RecordingEmitter second = new RecordingEmitter("second", rendezvous);
+
+        new SchemaTraversal(executor).register(first).register(second).generate(createRelations()).get(1, TimeUnit.MINUTES);
+
+        final List<String> expectedEvents = List.of("startSchema", "classType Base", "classType Derived", "typeCode SizeCode", "linkTypes 1", "endSchema");
+        assertEquals(expectedEvents, first.events);
+        assertEquals(expectedEvents, second.events);
+        assertNotEquals(first.thread, second.thread);
+    }
+
+    @Test
+    void failingEmitterDoesNotStopTheOthers() {
+        final XSDGenerator xsdGenerator = new XSDGenerator();
+        xsdGenerator.setXsdFile(tempDirectory.resolve("hierarchy.xsd").toFile());
+        final RecordingEmitter failing = new RecordingEmitter("failing", null);
+
+        final CompletionException exception = assertThrows(CompletionException.class,
+                () -> new SchemaTraversal(executor).register(failing).register(xsdGenerator.newEmitter()).generate(createRelations()).join());
+
+        assertEquals("Failed to emit the failing schema", exception.getMessage());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertTrue(failing.aborted);
+        assertTrue(xsdGenerator.getXsdFile().exists());
+    }
+
+    @Test
+    void writersOfOneGeneratorKeepTheirOwnState() throws Exception {
+        final RelationDefinition relations = createRelations();
+        final XSDGenerator xsdGenerator = new XSDGenerator();
+        xsdGenerator.setXsdFile(tempDirectory.resolve("expected.xsd").toFile());
+        xsdGenerator.generateXSD(relations);
+        final String expected = Files.readString(xsdGenerator.getXsdFile().toPath());
+
+        // The events of two traversals using the same emitter are interleaved, each writer builds its own document
+        xsdGenerator.setXsdFile(tempDirectory.resolve("interleaved.xsd").toFile());
+        final SchemaEmitter emitter = xsdGenerator.newEmitter();
+        final List<SchemaWriter> writers = List.of(emitter.startSchema(relations), emitter.startSchema(relations));
+        emitInterleaved(relations, writers);
+        for (final SchemaWriter writer : writers) {
+            writer.endSchema();
+            assertEquals(expected, Files.readString(xsdGenerator.getXsdFile().toPath()));
+        }
+    }
+
+    @Test
+    void writersOfOneJsonSchemaEmitterKeepTheirOwnState() throws Exception {
+        final RelationDefinition relations = createRelations();
+        final JsonSchemaEmitter jsonSchemaEmitter = new JsonSchemaEmitter();
+        jsonSchemaEmitter.setJsonSchemaFile(tempDirectory.resolve("expected.json").toFile());
+        SchemaTraversal.traverse(relations, jsonSchemaEmitter);
+        final String expected = Files.readString(jsonSchemaEmitter.getJsonSchemaFile().toPath());
+
+        // Each writer keeps the file of the emitter at the time it was started
+        final List<SchemaWriter> writers = new ArrayList<>();
+        for (final String name : List.of("first.json", "second.json")) {
+            jsonSchemaEmitter.setJsonSchemaFile(tempDirectory.resolve(name).toFile());
+            writers.add(jsonSchemaEmitter.startSchema(relations));
+        }
+        emitInterleaved(relations, writers);
+        for (final SchemaWriter writer : writers) {
+            writer.endSchema();
+        }
+        assertEquals(expected, Files.readString(tempDirectory.resolve("first.json")));
+        assertEquals(expected, Files.readString(tempDirectory.resolve("second.json")));
+    }
+
+    // Emit the events of the relations up to the linkTypes to every writer in turn
+    private void emitInterleaved(final RelationDefinition relations, final List<SchemaWriter> writers) throws Exception {
+        for (final Map.Entry<String, ClassDefinition> entry : relations.getClasses().entrySet()) {
+            for (final SchemaWriter writer : writers) {
+                writer.classType(entry.getKey(), entry.getValue());
+            }
+        }
+        for (final Map.Entry<String, List<PropertyDefinition>> entry : relations.getTypeCodes().entrySet()) {
+            for (final SchemaWriter writer : writers) {
+                writer.typeCode(entry.getKey(), entry.getValue());
+            }
+        }
+        for (final SchemaWriter writer : writers) {
+            writer.linkTypes(relations.getLinkTypes());
+        }
+    }
+
+    private WebVocabularyParser createParser(final String name) {
+        final WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+        webVocabularyParser.setRelationsFile(new File(tempDirectory.toFile(), name + "-relations.json"));
+        webVocabularyParser.getXsdGenerator().setXsdFile(new File(tempDirectory.toFile(), name + ".xsd"));
+        return webVocabularyParser;
+    }
+
+    private RelationDefinition createRelations() throws Exception {
+        return new ObjectMapper().readValue("""
+                {
+                  "classes": {
+                    "Base": {"isSubclass": false, "properties": [{"property": "name", "rangeType": "xsd:string", "dataType": "simple", "type": "simple"}]},
+                    "Derived": {"isSubclass": true, "superClass": "Base", "properties": [{"property": "size", "rangeType": "SizeCode", "dataType": "complex", "type": "code"}]}
+                  },
+                  "typeCodes": {"SizeCode": [{"property": "SMALL"}, {"property": "LARGE"}]},
+                  "linkTypes": [{"linkTypeId": "pip"}],
+                  "namespaces": {}
+                }
+                """, RelationDefinition.class);
+    }
+
+    // Emitter being its own writer recording the received events, waiting at the rendezvous within the first class or failing within the second one if none is provided
+    private static final class RecordingEmitter implements SchemaEmitter, SchemaWriter {
+        private final String name;
+        private final CountDownLatch rendezvous;
+        private final List<String> events = new ArrayList<>();
+        private volatile Thread thread;
+        private volatile boolean aborted;
+
+        private RecordingEmitter(final String name, final CountDownLatch rendezvous) {
+            this.name = name;
+            this.rendezvous = rendezvous;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public SchemaWriter startSchema(final RelationDefinition relationDefinition) {
+            events.add("startSchema");
+            return this;
+        }
+
+        @Override
+        public void classType(final String className, final ClassDefinition classDefinition) throws InterruptedException {
+            events.add("classType " + className);
+            if (rendezvous == null && events.size() > 2) {
+                throw new IllegalStateException("Emitter failure");
+            }
+            if (rendezvous != null && events.size() == 2) {
+                thread = Thread.currentThread();
+                rendezvous.countDown();
+                assertTrue(rendezvous.await(1, TimeUnit.MINUTES));
+            }
+        }
+
+        @Override
+        public void typeCode(final String typeCodeName, final List<PropertyDefinition> codes) {
+            events.add("typeCode " + typeCodeName);
+        }
+
+        @Override
+        public void linkTypes(final List<LinkTypeDefinition> linkTypes) {
+            events.add("linkTypes " + linkTypes.size());
+        }
+
+        @Override
+        public void endSchema() {
+            events.add("endSchema");
+        }
+
+        @Override
+        public void abort(final Throwable cause) {
+            aborted = true;
+        }
+    }
+}
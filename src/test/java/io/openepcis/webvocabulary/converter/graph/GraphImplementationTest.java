@@ -0,0 +1,52 @@
+package io.openepcis.webvocabulary.converter.graph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.openepcis.webvocabulary.converter.WebVocabularyParser;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GraphImplementationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void extractSameRelationsForAllImplementations() throws IOException {
+        final JsonNode expected = extract(GraphImplementation.DEFAULT, false);
+
+        for (final GraphImplementation graphImplementation : GraphImplementation.values()) {
+            assertEquals(expected, extract(graphImplementation, false), graphImplementation.name());
+            assertEquals(expected, extract(graphImplementation, true), graphImplementation.name() + " frozen");
+        }
+    }
+
+    private JsonNode extract(final GraphImplementation graphImplementation, final boolean freezeGraph) throws IOException {
+        final Graph graph = graphImplementation.createGraph();
+        try (final InputStream inputStream = getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld")) {
+            RDFParser.source(inputStream).lang(Lang.JSONLD).parse(graph);
+        }
+
+        final JsonNode relations = objectMapper.valueToTree(new WebVocabularyParser()
+                .extractRelations(ModelFactory.createModelForGraph(freezeGraph ? new GraphReadOnly(graph) : graph)));
+        removeDescriptions(relations);
+        return relations;
+    }
+
+    // Terms with several rdfs:comment values return them in the iteration order of the graph implementation
+    private void removeDescriptions(final JsonNode node) {
+        if (node instanceof ObjectNode objectNode) {
+            objectNode.remove("description");
+        }
+        node.forEach(this::removeDescriptions);
+    }
+}
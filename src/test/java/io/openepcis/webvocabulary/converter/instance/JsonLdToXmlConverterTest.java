@@ -0,0 +1,251 @@
+package io.openepcis.webvocabulary.converter.instance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema.ClassLayout;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import io.openepcis.webvocabulary.converter.support.LocalSchemaFactory;
+import io.openepcis.webvocabulary.converter.xsd.XSDGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLdToXmlConverterTest {
+
+    private static final String PRODUCT = """
+            {
+              "@context": {"gs1": "https://gs1.org/voc/"},
+              "@id": "https://id.gs1.org/01/09506000134352",
+              "@type": "gs1:FoodBeverageTobaccoProduct",
+              "gs1:productName": [{"@value": "Dal Giardino Risotto", "@language": "en"}, {"@value": "Risotto Dal Giardino", "@language": "it"}],
+              "gs1:allergenStatement": {"@value": "Contains milk", "@language": "en"},
+              "gs1:isSliced": {"@id": "gs1:NonbinaryLogicCode-FALSE"},
+              "gs1:gtin": "09506000134352",
+              "gs1:netContent": {"gs1:value": 500, "@type": "gs1:QuantitativeValue", "gs1:unitCode": "GRM"},
+              "gs1:brand": {"@type": "gs1:Brand", "gs1:brandName": "Dal Giardino"},
+              "gs1:unknownProperty": {"nested": [1, 2, 3]}
+            }
+            """;
+
+    // Node of the relations within instance/relations.json providing all the required elements
+    private static final String FOOD_PRODUCT = """
+            {
+              "@id": "https://id.gs1.org/01/09506000134352",
+              "@type": "FoodProduct",
+              "ingredient": {"en": ["Rice", "Mushrooms"]},
+              "location": {"@type": "Store", "storeName": "Markt", "address": "Hauptstraße 1, Köln"},
+              "gtin": "09506000134352",
+              "productName": [{"@value": "Mushroom risotto", "@language": "en"}, {"@value": "Pilzrisotto", "@language": "de"}],
+              "netContent": {"@type": "QuantitativeValue", "unitCode": "KGM", "value": 0.5},
+              "isSliced": {"@id": "gs1:NonbinaryLogicCode-NOT-APPLICABLE"}
+            }
+            """;
+
+    private static InstanceSchema instanceSchema;
+
+    @TempDir
+    Path tempDirectory;
+
+    @BeforeAll
+    static void readSchema() throws IOException {
+        try (final InputStream inputStream = new FileInputStream("src/main/resources/schema/JsonLdSchemaRelations.json")) {
+            instanceSchema = InstanceSchema.fromRelations(inputStream);
+        }
+    }
+
+    @Test
+    void convertNodeInSequenceOrder() throws Exception {
+        final String xml = convert(new JsonLdToXmlConverter(instanceSchema), PRODUCT);
+
+        assertTrue(xml.contains("<FoodBeverageTobaccoProduct id=\"https://id.gs1.org/01/09506000134352\">"));
+        assertTrue(xml.contains("<productName xml:lang=\"it\">Risotto Dal Giardino</productName>"));
+        assertTrue(xml.contains("<isSliced>FALSE</isSliced>"));
+        assertTrue(xml.contains("<brand><brandName xml:lang=\"und\">Dal Giardino</brandName></brand>"));
+        assertTrue(xml.contains("<netContent><unitCode>GRM</unitCode><value>500</value></netContent>"));
+        assertFalse(xml.contains("unknownProperty"));
+
+        // Inherited properties of Product come first followed by the properties of FoodBeverageTobaccoProduct
+        final List<String> children = childElements(xml);
+        final ClassLayout layout = instanceSchema.getClassLayout("FoodBeverageTobaccoProduct");
+        final List<Integer> indexes = children.stream().map(child -> layout.getProperty(child).getIndex()).toList();
+        assertEquals(indexes.stream().sorted().toList(), indexes);
+        assertTrue(children.indexOf("gtin") < children.indexOf("allergenStatement"));
+    }
+
+    @Test
+    void convertSubclassAndChoiceValues() throws Exception {
+        final String json = """
+                {"@type": "Organization", "@id": "https://id.gs1.org/417/9520123456788",
+                 "owns": {"@type": "Place", "@id": "https://id.gs1.org/414/9520123456788", "geo": {"@type": "GeoCoordinates", "latitude": "51.5", "longitude": "-0.1"}},
+                 "organizationName": {"en": "Example", "de": ["Beispiel"]}}
+                """;
+        final String xml = convert(new JsonLdToXmlConverter(instanceSchema), json);
+
+        assertTrue(xml.contains("<owns><Place id=\"https://id.gs1.org/414/9520123456788\">"));
+        assertTrue(xml.contains("<geo><GeoCoordinates>"));
+        assertTrue(xml.contains("<organizationName xml:lang=\"de\">Beispiel</organizationName>"));
+
+        // Value of a subclass of the property range is marked using xsi:type
+        final String offer = """
+                {"@type": "Offer", "itemOffered": {"@type": "FoodBeverageTobaccoProduct", "gtin": "09506000134352"}}
+                """;
+        assertTrue(convert(new JsonLdToXmlConverter(instanceSchema), offer).contains("<itemOffered xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"FoodBeverageTobaccoProduct\">"));
+    }
+
+    @Test
+    void convertedDocumentsConformToXsd() throws Exception {
+        final RelationDefinition relationDefinition = readRelations();
+        final XSDGenerator xsdGenerator = new XSDGenerator();
+        xsdGenerator.setXsdFile(tempDirectory.resolve("instance.xsd").toFile());
+        xsdGenerator.generateXSD(relationDefinition);
+        final Schema schema = LocalSchemaFactory.compile(xsdGenerator.getXsdFile(), "FoodProduct", "Offer");
+        final JsonLdToXmlConverter converter = new JsonLdToXmlConverter(new InstanceSchema(relationDefinition));
+
+        // The choice member is named by the union member from which the type of the node is derived
+        final String product = convert(converter, FOOD_PRODUCT);
+        assertTrue(product.contains("<location><Place xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"Store\"><address>"));
+        assertDoesNotThrow(() -> schema.newValidator().validate(new StreamSource(new StringReader(product))));
+
+        final String offer = convert(converter, "{\"@type\": \"Offer\", \"itemOffered\": " + FOOD_PRODUCT + "}");
+        assertTrue(offer.contains("<itemOffered xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"FoodProduct\" id="));
+        assertDoesNotThrow(() -> schema.newValidator().validate(new StreamSource(new StringReader(offer))));
+    }
+
+    @Test
+    void convertedDocumentsConformToFlattenedXsd() throws Exception {
+        final RelationDefinition relationDefinition = readRelations();
+        final XSDGenerator xsdGenerator = new XSDGenerator();
+        xsdGenerator.setFlattenHierarchy(true);
+        xsdGenerator.setXsdFile(tempDirectory.resolve("flattened.xsd").toFile());
+        xsdGenerator.generateXSD(relationDefinition);
+        final Schema schema = LocalSchemaFactory.compile(xsdGenerator.getXsdFile(), "FoodProduct", "Offer");
+        final JsonLdToXmlConverter converter = new JsonLdToXmlConverter(new InstanceSchema(relationDefinition, true));
+
+        // Values of the declared types are written as within the hierarchy with xsd:extension
+        final String place = "{\"@type\": \"Place\", \"address\": \"Hauptstraße 1, Köln\"}";
+        final String product = convert(converter, FOOD_PRODUCT.replace("{\"@type\": \"Store\", \"storeName\": \"Markt\", \"address\": \"Hauptstraße 1, Köln\"}", place));
+        assertTrue(product.contains("<location><Place><address>"));
+        assertDoesNotThrow(() -> schema.newValidator().validate(new StreamSource(new StringReader(product))));
+
+        // Values of subclasses require xsi:type which the flattened types do not allow
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, FOOD_PRODUCT));
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, "{\"@type\": \"Offer\", \"itemOffered\": " + FOOD_PRODUCT + "}"));
+    }
+
+    @Test
+    void rejectValuesNotAllowedByXsd() throws Exception {
+        final JsonLdToXmlConverter converter = new JsonLdToXmlConverter(new InstanceSchema(readRelations()));
+
+        // Only the LangString elements are repeatable
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, "{\"@type\": \"QuantitativeValue\", \"unitCode\": \"GRM\", \"value\": [1, 2]}"));
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, "{\"@type\": \"QuantitativeValue\", \"unitCode\": \"GRM\", \"value\": 1, \"gs1:value\": 2}"));
+        assertDoesNotThrow(() -> convert(converter, "{\"@type\": \"QuantitativeValue\", \"unitCode\": \"GRM\", \"value\": [1, null]}"));
+
+        // The member of the choice can neither be derived from a reference nor from a node whose type is not a member
+        final String location = "{\"@type\": \"Store\", \"storeName\": \"Markt\", \"address\": \"Hauptstraße 1, Köln\"}";
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, FOOD_PRODUCT.replace(location, "\"https://id.gs1.org/414/9520123456788\"")));
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, FOOD_PRODUCT.replace(location, "{\"@id\": \"https://id.gs1.org/414/9520123456788\"}")));
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, FOOD_PRODUCT.replace(location, "{\"@type\": \"QuantitativeValue\", \"unitCode\": \"GRM\", \"value\": 1}")));
+    }
+
+    @Test
+    void convertGraphIntoBatchElement() throws Exception {
+        final String json = """
+                {"@context": "https://gs1.org/voc/", "@graph": [
+                  {"@type": "Brand", "brandName": "First"},
+                  {"brandName": "Second", "@type": "Brand"}
+                ]}
+                """;
+        final String xml = convert(new JsonLdToXmlConverter(instanceSchema), json);
+
+        assertTrue(xml.contains("<Instances><Brand><brandName xml:lang=\"und\">First</brandName></Brand><Brand><brandName xml:lang=\"und\">Second</brandName></Brand></Instances>"));
+    }
+
+    @Test
+    void rejectOutOfOrderPropertiesForOrderedInput() {
+        final JsonLdToXmlConverter converter = new JsonLdToXmlConverter(instanceSchema);
+        converter.setInputOrdered(true);
+
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, PRODUCT));
+        assertDoesNotThrow(() -> convert(converter, "{\"@type\": \"QuantitativeValue\", \"unitCode\": \"GRM\", \"value\": 1}"));
+        assertThrows(IllegalArgumentException.class, () -> convert(converter, "{\"@type\": \"QuantitativeValue\", \"unitCode\": \"GRM\", \"value\": 1, \"gs1:value\": 2}"));
+    }
+
+    @Test
+    void convertNdjsonInParallel() throws Exception {
+        final int records = 5_000;
+        final StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            ndjson.append(PRODUCT.replace('\n', ' ').replace("09506000134352", String.format("%014d", i))).append('\n');
+        }
+
+        final JsonLdToXmlConverter converter = new JsonLdToXmlConverter(instanceSchema);
+        converter.setParallelism(4);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        converter.convertNdjson(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), outputStream);
+
+        // All the records are present within the batch element in the order of the input
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new ByteArrayInputStream(outputStream.toByteArray()));
+        int index = 0;
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("FoodBeverageTobaccoProduct")) {
+                assertEquals("https://id.gs1.org/01/" + String.format("%014d", index++), reader.getAttributeValue(null, "id"));
+            }
+        }
+        assertEquals(records, index);
+    }
+
+    @Test
+    void reportInvalidNdjsonRecordWithLineNumber() {
+        final String ndjson = "{\"@type\": \"Brand\", \"brandName\": \"First\"}\n{\"@type\": \"UnknownType\"}\n";
+        final IOException exception = assertThrows(IOException.class, () -> new JsonLdToXmlConverter(instanceSchema)
+                .convertNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), new ByteArrayOutputStream()));
+        assertTrue(exception.getMessage().contains("line 2"));
+    }
+
+    private RelationDefinition readRelations() throws IOException {
+        try (final InputStream inputStream = getClass().getResourceAsStream("/instance/relations.json")) {
+            return new ObjectMapper().readValue(inputStream, RelationDefinition.class);
+        }
+    }
+
+    private String convert(final JsonLdToXmlConverter converter, final String json) throws IOException, XMLStreamException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        converter.convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    // Names of the direct child elements of the root element
+    private List<String> childElements(final String xml) throws XMLStreamException {
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        final List<String> children = new ArrayList<>();
+        int depth = 0;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT && ++depth == 2) {
+                children.add(reader.getLocalName());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return children;
+    }
+}
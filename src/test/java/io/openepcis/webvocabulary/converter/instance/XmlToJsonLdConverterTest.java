@@ -0,0 +1,150 @@
+package io.openepcis.webvocabulary.converter.instance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XmlToJsonLdConverterTest {
+
+    private static final String PRODUCT = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <FoodBeverageTobaccoProduct id="https://id.gs1.org/01/09506000134352">
+                <brand><brandName xml:lang="en">Dal Giardino</brandName></brand>
+                <gtin>09506000134352</gtin>
+                <netContent><unitCode>GRM</unitCode><value>500</value></netContent>
+                <productName xml:lang="en">Dal Giardino Risotto</productName>
+                <productName xml:lang="it">Risotto Dal Giardino</productName>
+                <allergenStatement xml:lang="en">Contains milk</allergenStatement>
+                <isSliced>FALSE</isSliced>
+                <unknownElement><nested>1</nested></unknownElement>
+            </FoodBeverageTobaccoProduct>
+            """;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static InstanceSchema instanceSchema;
+
+    @BeforeAll
+    static void readSchema() throws IOException {
+        try (final InputStream inputStream = new FileInputStream("src/main/resources/schema/JsonLdSchemaRelations.json")) {
+            instanceSchema = InstanceSchema.fromRelations(inputStream);
+        }
+    }
+
+    @Test
+    void convertNode() throws Exception {
+        final JsonNode jsonLd = convert(PRODUCT);
+
+        assertEquals("https://gs1.org/voc/", jsonLd.at("/@context/gs1").asText());
+        assertEquals("https://id.gs1.org/01/09506000134352", jsonLd.get("@id").asText());
+        assertEquals("gs1:FoodBeverageTobaccoProduct", jsonLd.get("@type").asText());
+        assertEquals("09506000134352", jsonLd.get("gs1:gtin").asText());
+        assertEquals(2, jsonLd.get("gs1:productName").size());
+        assertEquals("it", jsonLd.at("/gs1:productName/1/@language").asText());
+        assertEquals("Contains milk", jsonLd.at("/gs1:allergenStatement/@value").asText());
+        assertEquals("gs1:NonbinaryLogicCode-FALSE", jsonLd.at("/gs1:isSliced/@id").asText());
+        assertTrue(jsonLd.at("/gs1:netContent/gs1:value").isNumber());
+        assertEquals("gs1:Brand", jsonLd.at("/gs1:brand/@type").asText());
+        assertFalse(jsonLd.has("gs1:unknownElement"));
+    }
+
+    @Test
+    void convertEncodedTypeCodes() {
+        final String code = "1,3-BIS-(2,4-DIAMINOPHENOXY)PROPANE";
+        final String iri = InstanceSchema.codeIri(code, "AllergenTypeCode");
+
+        assertEquals("AllergenTypeCode-1%2C3-BIS-%282%2C4-DIAMINOPHENOXY%29PROPANE", iri);
+        assertEquals(code, InstanceSchema.codeValue("gs1:" + iri, "AllergenTypeCode"));
+    }
+
+    @Test
+    void convertCodesWithIrregularIris() throws Exception {
+        // The code IRIs do not always follow <TypeCode>-<code>, they are taken from the relations
+        assertEquals("https://gs1.org/voc/AbsoluteHumidity", instanceSchema.getCodeIri("AbsoluteHumidity", "MeasurementType"));
+        assertEquals("AbsoluteHumidity", instanceSchema.getCode("gs1:AbsoluteHumidity", "MeasurementType"));
+
+        final JsonNode jsonLd = convert("<ColourCodeDetails><colourCodeList>BUYER</colourCodeList><colourCodeValue>12</colourCodeValue></ColourCodeDetails>");
+        assertEquals("gs1:ColourCodeList-BUYER", jsonLd.at("/gs1:colourCodeList/@id").asText());
+
+        final ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        new JsonLdToXmlConverter(instanceSchema).convert(new ByteArrayInputStream(objectMapper.writeValueAsBytes(jsonLd)), xml);
+        assertTrue(xml.toString(StandardCharsets.UTF_8).contains("<colourCodeList>BUYER</colourCodeList>"));
+    }
+
+    @Test
+    void vocabularyPrefixIsBoundToItsNamespace() throws Exception {
+        final XmlToJsonLdConverter converter = new XmlToJsonLdConverter(instanceSchema);
+        converter.setVocabularyPrefix("schema");
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        converter.convert(new ByteArrayInputStream(PRODUCT.getBytes(StandardCharsets.UTF_8)), outputStream);
+
+        final JsonNode jsonLd = objectMapper.readTree(outputStream.toByteArray());
+        assertEquals("http://schema.org/", jsonLd.at("/@context/schema").asText());
+        assertEquals("schema:FoodBeverageTobaccoProduct", jsonLd.get("@type").asText());
+    }
+
+    @Test
+    void roundTripThroughXml() throws Exception {
+        final String json = """
+                {"@context": {"gs1": "https://gs1.org/voc/"}, "@graph": [
+                  {"@id": "https://id.gs1.org/417/9520123456788", "@type": "gs1:Organization",
+                   "gs1:organizationName": {"@value": "Example", "@language": "en"},
+                   "gs1:owns": {"@id": "https://id.gs1.org/414/9520123456788", "@type": "gs1:Place",
+                                "gs1:geo": {"@type": "gs1:GeoCoordinates", "gs1:latitude": "51.5", "gs1:longitude": "-0.1"}}},
+                  {"@type": "gs1:Offer", "gs1:itemOffered": {"@type": "gs1:FoodBeverageTobaccoProduct", "gs1:gtin": "09506000134352"}}
+                ]}
+                """;
+        final ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        new JsonLdToXmlConverter(instanceSchema).convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), xml);
+
+        final JsonNode jsonLd = convert(xml.toString(StandardCharsets.UTF_8));
+        assertEquals(objectMapper.readTree(json).get("@graph"), jsonLd.get("@graph"));
+    }
+
+    @Test
+    void convertFileSetInParallel(@TempDir final Path directory) throws Exception {
+        final List<Path> xmlFiles = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            final Path xmlFile = directory.resolve("product-" + i + ".xml");
+            Files.writeString(xmlFile, PRODUCT.replace("09506000134352", String.format("%014d", i)));
+            xmlFiles.add(xmlFile);
+        }
+
+        final XmlToJsonLdConverter converter = new XmlToJsonLdConverter(instanceSchema);
+        converter.setParallelism(4);
+        final List<Path> jsonLdFiles = converter.convertAll(xmlFiles, directory.resolve("jsonld"));
+
+        assertEquals(xmlFiles.size(), jsonLdFiles.size());
+        for (int i = 0; i < jsonLdFiles.size(); i++) {
+            assertEquals("product-" + i + ".jsonld", jsonLdFiles.get(i).getFileName().toString());
+            assertEquals(String.format("%014d", i), objectMapper.readTree(jsonLdFiles.get(i).toFile()).get("gs1:gtin").asText());
+        }
+
+        // The failure of a single file is reported with the file name
+        final Path invalidFile = directory.resolve("invalid.xml");
+        Files.writeString(invalidFile, "<Product><gtin>1</Product>");
+        final IOException exception = assertThrows(IOException.class, () -> converter.convertAll(List.of(xmlFiles.get(0), invalidFile), directory.resolve("jsonld")));
+        assertTrue(exception.getMessage().contains("invalid.xml"));
+    }
+
+    private JsonNode convert(final String xml) throws IOException, XMLStreamException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new XmlToJsonLdConverter(instanceSchema).convert(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), outputStream);
+        return objectMapper.readTree(outputStream.toByteArray());
+    }
+}
@@ -0,0 +1,131 @@
+package io.openepcis.webvocabulary.converter.io;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.WebVocabularyParser;
+import io.openepcis.webvocabulary.converter.instance.InstanceSchema;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedStreamsTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void decompressByMagicBytes() throws IOException {
+        final byte[] contents = "{\"@context\": {}}".getBytes(StandardCharsets.UTF_8);
+
+        // Plain contents are passed through and compressed contents are decompressed, both can be sniffed afterward
+        final BufferedInputStream plain = CompressedStreams.decompress(new ByteArrayInputStream(contents));
+        assertEquals(Lang.JSONLD, RdfSyntaxDetector.detect(plain));
+        assertArrayEquals(contents, plain.readAllBytes());
+
+        final BufferedInputStream compressed = CompressedStreams.decompress(new ByteArrayInputStream(gzip(contents)));
+        assertEquals(Lang.JSONLD, RdfSyntaxDetector.detect(compressed));
+        assertArrayEquals(contents, compressed.readAllBytes());
+
+        assertTrue(CompressedStreams.isGzip("https://example.com/gs1Voc.jsonld.GZ?version=1.11"));
+        assertFalse(CompressedStreams.isGzip("gs1Voc.jsonld"));
+    }
+
+    @Test
+    void convertCompressedVocabularyIntoCompressedOutputs() throws Exception {
+        final byte[] vocabulary;
+        try (final InputStream inputStream = getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld")) {
+            vocabulary = inputStream.readAllBytes();
+        }
+
+        // Reference conversion of the uncompressed vocabulary into uncompressed outputs
+        final WebVocabularyParser plainParser = createParser("plain.xsd", "plain-relations.json");
+        plainParser.parseJsonLdData(new ByteArrayInputStream(vocabulary));
+
+        // Compressed stream, the syntax is sniffed from the decompressed contents
+        final WebVocabularyParser streamParser = createParser("stream.xsd.gz", "stream-relations.json.gz");
+        streamParser.parseJsonLdData(new ByteArrayInputStream(gzip(vocabulary)));
+        assertOutputsEqual(plainParser, streamParser);
+
+        // Compressed Turtle file, the syntax is detected from the extension preceding .gz
+        final Model model = ModelFactory.createDefaultModel();
+        RDFDataMgr.read(model, new ByteArrayInputStream(vocabulary), Lang.JSONLD);
+        final Path turtleFile = tempDirectory.resolve("gs1Voc.ttl.gz");
+        try (final OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(turtleFile))) {
+            RDFDataMgr.write(outputStream, model, Lang.TURTLE);
+        }
+        final WebVocabularyParser fileParser = createParser("file.xsd.gz", "file-relations.json.gz");
+        fileParser.parseJsonLdData(turtleFile.toString());
+        // Descriptions of terms with several comments depend on the statement order of the syntax, so compare the class names
+        final List<String> expectedClasses = new ArrayList<>();
+        final List<String> actualClasses = new ArrayList<>();
+        readJson(plainParser.getRelationsFile()).get("classes").fieldNames().forEachRemaining(expectedClasses::add);
+        readJson(fileParser.getRelationsFile()).get("classes").fieldNames().forEachRemaining(actualClasses::add);
+        assertEquals(expectedClasses, actualClasses);
+
+        // Compressed file without the extension is recognized by the magic bytes
+        final Path unnamedFile = tempDirectory.resolve("gs1Voc");
+        Files.write(unnamedFile, gzip(vocabulary));
+        final WebVocabularyParser unnamedParser = createParser("unnamed.xsd", "unnamed-relations.json");
+        unnamedParser.parseJsonLdData(unnamedFile.toString());
+        assertOutputsEqual(plainParser, unnamedParser);
+
+        // Compressed relations are read directly by the instance converters
+        try (final InputStream inputStream = Files.newInputStream(streamParser.getRelationsFile().toPath())) {
+            assertNotNull(InstanceSchema.fromRelations(inputStream).getClassLayout("Product"));
+        }
+    }
+
+    private WebVocabularyParser createParser(final String xsdFileName, final String relationsFileName) {
+        final WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+        webVocabularyParser.setRelationsFile(new File(tempDirectory.toFile(), relationsFileName));
+        webVocabularyParser.getXsdGenerator().setXsdFile(new File(tempDirectory.toFile(), xsdFileName));
+        return webVocabularyParser;
+    }
+
+    private void assertOutputsEqual(final WebVocabularyParser expected, final WebVocabularyParser actual) throws IOException {
+        assertEquals(readJson(expected.getRelationsFile()), readJson(actual.getRelationsFile()));
+        assertArrayEquals(read(expected.getXsdGenerator().getXsdFile()), read(actual.getXsdGenerator().getXsdFile()));
+    }
+
+    private JsonNode readJson(final File file) throws IOException {
+        return new ObjectMapper().readTree(read(file));
+    }
+
+    private byte[] read(final File file) throws IOException {
+        final byte[] contents = Files.readAllBytes(file.toPath());
+        if (!CompressedStreams.isGzip(file.getName())) {
+            return contents;
+        }
+        try (final InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(contents))) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(final byte[] contents) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (final OutputStream gzipStream = new GZIPOutputStream(outputStream)) {
+            gzipStream.write(contents);
+        }
+        return outputStream.toByteArray();
+    }
+}
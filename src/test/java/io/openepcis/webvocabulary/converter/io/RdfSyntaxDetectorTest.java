@@ -0,0 +1,79 @@
+package io.openepcis.webvocabulary.converter.io;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RdfSyntaxDetectorTest {
+
+    private static final Model model = ModelFactory.createDefaultModel();
+
+    @BeforeAll
+    static void readVocabulary() throws IOException {
+        try (final InputStream inputStream = RdfSyntaxDetectorTest.class.getResourceAsStream("/gs1Voc_v1_11.jsonld")) {
+            RDFDataMgr.read(model, inputStream, Lang.JSONLD);
+        }
+    }
+
+    @Test
+    void detectByExtension() {
+        assertEquals(Lang.TURTLE, RdfSyntaxDetector.detect("https://gs1.org/voc/gs1Voc.ttl"));
+        assertEquals(Lang.NTRIPLES, RdfSyntaxDetector.detect("gs1Voc.nt?version=1.11"));
+        assertEquals(Lang.RDFTHRIFT, RdfSyntaxDetector.detect("gs1Voc.trdf"));
+        assertEquals(Lang.JSONLD, RdfSyntaxDetector.detect("https://gs1.org/voc/"));
+    }
+
+    @Test
+    void detectByContentType() {
+        assertEquals(Lang.TURTLE, RdfSyntaxDetector.detect("https://gs1.org/voc/", "text/turtle"));
+        assertEquals(Lang.JSONLD, RdfSyntaxDetector.detect("gs1Voc.ttl", "application/ld+json"));
+    }
+
+    @Test
+    void genericContentTypeIsNotConclusive() throws IOException {
+        final BufferedInputStream turtle = new BufferedInputStream(new ByteArrayInputStream("@prefix gs1: <https://gs1.org/voc/> .".getBytes(StandardCharsets.UTF_8)));
+
+        // Files on raw.githubusercontent.com are served as text/plain which Jena maps to N-Triples
+        assertEquals(Lang.JSONLD, RdfSyntaxDetector.detect("x.jsonld", "text/plain", turtle));
+        assertEquals(Lang.JSONLD, RdfSyntaxDetector.detect("https://raw.githubusercontent.com/gs1/WebVoc/master/v1.11/gs1Voc_v1_11.jsonld", "text/plain; charset=utf-8"));
+        assertEquals(Lang.TURTLE, RdfSyntaxDetector.detect("https://gs1.org/voc/", "application/octet-stream", turtle));
+        assertEquals(Lang.TURTLE, RdfSyntaxDetector.detect("https://gs1.org/voc/", "application/json", turtle));
+    }
+
+    @Test
+    void detectBySniffing() throws IOException {
+        assertEquals(Lang.JSONLD, sniff(Lang.JSONLD));
+        assertEquals(Lang.TURTLE, sniff(Lang.TURTLE));
+        assertEquals(Lang.NTRIPLES, sniff(Lang.NTRIPLES));
+        assertEquals(Lang.RDFTHRIFT, sniff(Lang.RDFTHRIFT));
+
+        final byte[] rdfXml = "<?xml version=\"1.0\"?>\n<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"/>".getBytes(StandardCharsets.UTF_8);
+        assertEquals(Lang.RDFXML, RdfSyntaxDetector.detect(rdfXml, rdfXml.length));
+    }
+
+    private Lang sniff(final Lang lang) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        RDFDataMgr.write(outputStream, model, lang);
+
+        final BufferedInputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+        final Lang detected = RdfSyntaxDetector.detect(inputStream);
+
+        // Ensure that the stream is reset and can be parsed completely after the detection
+        final Model parsed = ModelFactory.createDefaultModel();
+        RDFDataMgr.read(parsed, inputStream, detected);
+        assertEquals(model.size(), parsed.size());
+        return detected;
+    }
+}
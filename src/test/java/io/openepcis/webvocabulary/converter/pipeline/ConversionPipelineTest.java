@@ -0,0 +1,170 @@
+package io.openepcis.webvocabulary.converter.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.WebVocabularyParser;
+import io.openepcis.webvocabulary.converter.pipeline.StageEvent.Status;
+import org.apache.jena.riot.Lang;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionPipelineTest {
+
+    private static ExecutorService executor;
+
+    @TempDir
+    Path tempDirectory;
+
+    @BeforeAll
+    static void createExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void asyncConversionMatchesSynchronousConversion() throws Exception {
+        final WebVocabularyParser syncParser = createParser("sync");
+        syncParser.parseJsonLdData(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"), Lang.JSONLD);
+
+        final WebVocabularyParser asyncParser = createParser("async");
+        final EventCollector events = new EventCollector();
+        final ConversionHandle handle = asyncParser.parseJsonLdDataAsync(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"), Lang.JSONLD, executor, events);
+        handle.getCompletion().get(5, TimeUnit.MINUTES);
+
+        assertOutputsEqual(syncParser, asyncParser);
+
+        // Every stage has completed and its progress has been published in the order RUNNING followed by COMPLETED
+        assertTrue(events.awaitCompletion());
+        assertTrue(handle.getProgress().values().stream().allMatch(status -> status == Status.COMPLETED));
+        for (final ConversionStage stage : ConversionStage.values()) {
+            assertEquals(List.of(Status.RUNNING, Status.COMPLETED), events.statuses(stage));
+        }
+    }
+
+    @Test
+    void asyncConversionOfRootClassesMatchesSynchronousConversion() throws Exception {
+        final WebVocabularyParser syncParser = createParser("sync");
+        syncParser.getXsdGenerator().setRootClasses(Set.of("Product", "Organization"));
+        syncParser.parseJsonLdData(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"), Lang.JSONLD);
+
+        final WebVocabularyParser asyncParser = createParser("async");
+        asyncParser.getXsdGenerator().setRootClasses(Set.of("Product", "Organization"));
+        asyncParser.getXsdGenerator().setDocumentationFile(null);
+        final ConversionHandle handle = asyncParser.parseJsonLdDataAsync(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"), Lang.JSONLD, executor, null);
+        handle.getCompletion().get(5, TimeUnit.MINUTES);
+
+        assertEquals(Status.SKIPPED, handle.getStatus(ConversionStage.DOCUMENTATION_FILE));
+        assertEquals(Files.readString(syncParser.getXsdGenerator().getXsdFile().toPath()), Files.readString(asyncParser.getXsdGenerator().getXsdFile().toPath()));
+    }
+
+    @Test
+    void failureIsPropagatedToDependentStages() throws Exception {
+        final WebVocabularyParser asyncParser = createParser("invalid");
+        final EventCollector events = new EventCollector();
+        final ConversionHandle handle = asyncParser.parseJsonLdDataAsync(new ByteArrayInputStream("<invalid turtle".getBytes(StandardCharsets.UTF_8)), Lang.TURTLE, executor, events);
+
+        assertThrows(CompletionException.class, () -> handle.getCompletion().join());
+        assertTrue(events.awaitCompletion());
+        assertNotNull(events.error);
+
+        // The parse failure is reported for the stage itself and every stage depending on it
+        for (final ConversionStage stage : ConversionStage.values()) {
+            assertEquals(Status.FAILED, handle.getStatus(stage));
+        }
+    }
+
+    @Test
+    void failedConversionKeepsExistingXsd() throws Exception {
+        final WebVocabularyParser asyncParser = createParser("failed");
+        final Path xsdFile = asyncParser.getXsdGenerator().getXsdFile().toPath();
+        Files.writeString(xsdFile, "existing");
+
+        // The XSD header is written while building the types fails for the unknown root class
+        asyncParser.getXsdGenerator().setRootClasses(Set.of("UnknownClass"));
+        final ConversionHandle handle = asyncParser.parseJsonLdDataAsync(getClass().getResourceAsStream("/gs1Voc_v1_11.jsonld"), Lang.JSONLD, executor, null);
+        assertThrows(CompletionException.class, () -> handle.getTermination().join());
+
+        // The partially written XSD is discarded without replacing the existing one
+        assertEquals(Status.COMPLETED, handle.getStatus(ConversionStage.XSD_HEADER));
+        assertEquals("existing", Files.readString(xsdFile));
+        try (final Stream<Path> files = Files.list(tempDirectory)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith(".tmp-")));
+        }
+    }
+
+    private WebVocabularyParser createParser(final String name) {
+        final WebVocabularyParser webVocabularyParser = new WebVocabularyParser();
+        webVocabularyParser.setRelationsFile(new File(tempDirectory.toFile(), name + "-relations.json"));
+        webVocabularyParser.getXsdGenerator().setXsdFile(new File(tempDirectory.toFile(), name + ".xsd"));
+        webVocabularyParser.getXsdGenerator().setDocumentationFile(new File(tempDirectory.toFile(), name + "-documentation.json"));
+        return webVocabularyParser;
+    }
+
+    private void assertOutputsEqual(final WebVocabularyParser expected, final WebVocabularyParser actual) throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(objectMapper.readTree(expected.getRelationsFile()), objectMapper.readTree(actual.getRelationsFile()));
+        assertEquals(objectMapper.readTree(expected.getXsdGenerator().getDocumentationFile()), objectMapper.readTree(actual.getXsdGenerator().getDocumentationFile()));
+
+        // The fragments are streamed in the order of the document, so the XSD is identical to the one written at once
+        assertEquals(Files.readString(expected.getXsdGenerator().getXsdFile().toPath()), Files.readString(actual.getXsdGenerator().getXsdFile().toPath()));
+    }
+
+    // Subscriber collecting all the published stage events
+    private static final class EventCollector implements Flow.Subscriber<StageEvent> {
+        private final List<StageEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final StageEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        private boolean awaitCompletion() throws InterruptedException {
+            return completed.await(1, TimeUnit.MINUTES);
+        }
+
+        private List<Status> statuses(final ConversionStage stage) {
+            return events.stream().filter(event -> event.stage() == stage).map(StageEvent::status).toList();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package io.openepcis.webvocabulary.converter.runtime;
+
+import io.openepcis.webvocabulary.converter.xsd.adapter.LangStringAdapter;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlType;
+import jakarta.xml.bind.annotation.XmlValue;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JaxbRuntimeTest {
+
+    private static final QName PRODUCT = new QName("Product");
+
+    // Mirrors the shape of the classes generated by xjc from JsonLdSchemaXSD.xsd
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "Product", propOrder = {"gtin", "productName"})
+    @Getter
+    @Setter
+    public static class Product {
+        @XmlElement(required = true)
+        private String gtin;
+
+        @XmlElement(name = "productName")
+        private List<ProductName> productName = new ArrayList<>();
+
+        @XmlAttribute(name = "id")
+        private String id;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @Getter
+    @Setter
+    public static class ProductName {
+        @XmlValue
+        private String value;
+
+        @XmlAttribute(name = "lang", namespace = "http://www.w3.org/XML/1998/namespace")
+        private String lang;
+    }
+
+    @Test
+    void contextAndMarshallersAreReused() throws Exception {
+        final JaxbRuntime runtime = JaxbRuntime.forClasses(Product.class);
+
+        assertSame(runtime, JaxbRuntime.forClasses(Product.class));
+        assertSame(runtime.getContext(), runtime.getContext());
+        assertSame(runtime.getMarshaller(), runtime.getMarshaller());
+        assertSame(runtime.getUnmarshaller(), runtime.getUnmarshaller());
+        assertNotNull(runtime.getMarshaller().getAdapter(LangStringAdapter.class));
+        assertNotNull(runtime.getUnmarshaller().getAdapter(LangStringAdapter.class));
+
+        // Each thread receives its own Marshaller instance
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            assertNotSame(runtime.getMarshaller(), executorService.submit(runtime::getMarshaller).get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void marshalAndUnmarshalRoundTrip() throws JAXBException {
+        final JaxbRuntime runtime = JaxbRuntime.forClasses(Product.class);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        runtime.marshal(PRODUCT, Product.class, product(1), outputStream);
+
+        final Product product = runtime.unmarshal(new StreamSource(new ByteArrayInputStream(outputStream.toByteArray())), Product.class);
+        assertEquals("https://id.gs1.org/01/00000000000001", product.getId());
+        assertEquals("00000000000001", product.getGtin());
+        assertEquals("de", product.getProductName().get(1).getLang());
+        assertEquals("Produkt 1", product.getProductName().get(1).getValue());
+    }
+
+    @Test
+    void generatedClassesRoundTrip() throws JAXBException {
+        final generated.QuantitativeValue netContent = new generated.QuantitativeValue();
+        netContent.setValue(500);
+        netContent.setUnitCode("GRM");
+        final generated.Product product = new generated.Product();
+        product.setId("https://id.gs1.org/01/09506000134352");
+        product.setGtin("09506000134352");
+        product.setNetContent(netContent);
+        product.getProductName().add(new LangString("Dal Giardino Risotto", "en"));
+        product.getProductName().add(new LangString("Risotto Dal Giardino", "it"));
+
+        final JaxbRuntime runtime = JaxbRuntime.getInstance();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        runtime.marshal(PRODUCT, generated.Product.class, product, outputStream);
+
+        // The LangString elements are written with the xml:lang attribute by the LangStringAdapter
+        final String xml = outputStream.toString();
+        assertTrue(xml.contains("<productName xml:lang=\"it\">Risotto Dal Giardino</productName>"), xml);
+
+        final generated.Product read = runtime.unmarshal(new StreamSource(new ByteArrayInputStream(outputStream.toByteArray())), generated.Product.class);
+        assertEquals("https://id.gs1.org/01/09506000134352", read.getId());
+        assertEquals("09506000134352", read.getGtin());
+        assertEquals(List.of(new LangString("Dal Giardino Risotto", "en"), new LangString("Risotto Dal Giardino", "it")), read.getProductName());
+        assertEquals(500f, read.getNetContent().getValue());
+        assertEquals("GRM", read.getNetContent().getUnitCode());
+    }
+
+    @Test
+    void concurrentMarshalling() throws Exception {
+        final JaxbRuntime runtime = JaxbRuntime.forClasses(Product.class);
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final int index = i;
+                results.add(executorService.submit(() -> {
+                    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    runtime.marshal(PRODUCT, Product.class, product(index), outputStream);
+                    return runtime.unmarshal(new StreamSource(new ByteArrayInputStream(outputStream.toByteArray())), Product.class).getGtin();
+                }));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(String.format("%014d", i), results.get(i).get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void marshalAllStreamsLargeCollections() throws JAXBException, XMLStreamException {
+        final JaxbRuntime runtime = JaxbRuntime.forClasses(Product.class);
+        final int count = 10_000;
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Products are created lazily while marshalling so the collection is never materialized
+        runtime.marshalAll(new QName("Products"), PRODUCT, Product.class, IntStream.range(0, count).mapToObj(this::product).iterator(), outputStream);
+
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new ByteArrayInputStream(outputStream.toByteArray()));
+        int products = 0;
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("Product")) {
+                products++;
+            }
+        }
+        assertEquals(count, products);
+
+        // The fragment property is restored so that the following documents contain the XML declaration
+        final ByteArrayOutputStream single = new ByteArrayOutputStream();
+        runtime.marshal(PRODUCT, Product.class, product(0), single);
+        assertTrue(single.toString().startsWith("<?xml"));
+    }
+
+    private Product product(final int index) {
+        final Product product = new Product();
+        product.setId("https://id.gs1.org/01/" + String.format("%014d", index));
+        product.setGtin(String.format("%014d", index));
+        product.getProductName().add(productName("en", "Product " + index));
+        product.getProductName().add(productName("de", "Produkt " + index));
+        return product;
+    }
+
+    private ProductName productName(final String lang, final String value) {
+        final ProductName productName = new ProductName();
+        productName.setLang(lang);
+        productName.setValue(value);
+        return productName;
+    }
+}
@@ -0,0 +1,60 @@
+package io.openepcis.webvocabulary.converter.support;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSInput;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.File;
+import java.io.StringReader;
+
+/**
+ * Compiles the generated XSD for validating instance documents. The generated XSD only declares types, so a global
+ * element is declared for each of the requested root types, and the xml namespace schema is resolved from the test
+ * resources instead of the network.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LocalSchemaFactory {
+
+    /**
+     * Method to compile the generated XSD with the global elements for the root types
+     *
+     * @param xsdFile   generated XSD
+     * @param rootTypes names of the complexTypes which can be used as root element such as FoodBeverageTobaccoProduct
+     * @return returns the compiled schema
+     * @throws SAXException                 exception during the compilation of the schema
+     * @throws ParserConfigurationException exception during the creation of the resource resolver
+     */
+    public static Schema compile(final File xsdFile, final String... rootTypes) throws SAXException, ParserConfigurationException {
+        final DOMImplementationLS domImplementation = (DOMImplementationLS) DocumentBuilderFactory.newInstance().newDocumentBuilder().getDOMImplementation();
+        final SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+
+        schemaFactory.setResourceResolver((type, namespaceUri, publicId, systemId, baseUri) -> {
+            if (!XMLConstants.XML_NS_URI.equals(namespaceUri)) {
+                return null;
+            }
+            final LSInput input = domImplementation.createLSInput();
+            input.setByteStream(LocalSchemaFactory.class.getResourceAsStream("/xml.xsd"));
+            input.setSystemId(systemId);
+            return input;
+        });
+
+        final StringBuilder wrapper = new StringBuilder("<xsd:schema xmlns:xsd=\"" + XMLConstants.W3C_XML_SCHEMA_NS_URI + "\">");
+        wrapper.append("<xsd:include schemaLocation=\"").append(xsdFile.toURI()).append("\"/>");
+        for (final String rootType : rootTypes) {
+            wrapper.append("<xsd:element name=\"").append(rootType).append("\" type=\"").append(rootType).append("\"/>");
+        }
+        wrapper.append("</xsd:schema>");
+
+        final StreamSource source = new StreamSource(new StringReader(wrapper.toString()));
+        source.setSystemId(xsdFile.toURI().resolve("root-elements.xsd").toString());
+        return schemaFactory.newSchema(source);
+    }
+}
@@ -0,0 +1,65 @@
+package io.openepcis.webvocabulary.converter.support;
+
+import io.openepcis.webvocabulary.converter.runtime.XmlCodec;
+import jakarta.xml.bind.JAXBElement;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles the sources generated by the JavaRecordEmitter or by xjc with the compiler of the running JDK and loads the
+ * classes, so that the generated records, codecs and JAXB classes can be exercised without a separate build.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SourceCompiler {
+
+    /**
+     * Method to compile all the sources of the directory against the runtime package of the codecs and the JAXB API
+     *
+     * @param sourceDirectory  directory containing the generated sources within their package directories
+     * @param classesDirectory directory onto which the classes are written
+     * @return returns the class loader of the compiled classes
+     * @throws IOException exception during the reading of the sources
+     */
+    public static ClassLoader compile(final Path sourceDirectory, final Path classesDirectory) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Compiler is not available, the tests have to be run with a JDK");
+        }
+
+        final List<File> sources;
+        try (final Stream<Path> paths = Files.walk(sourceDirectory)) {
+            sources = paths.filter(path -> path.toString().endsWith(".java")).map(Path::toFile).toList();
+        }
+        Files.createDirectories(classesDirectory);
+
+        // The generated sources only depend on the JDK, the runtime package of this project and the JAXB API
+        final String classPath = Stream.of(XmlCodec.class, JAXBElement.class)
+                .map(type -> new File(type.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath())
+                .collect(Collectors.joining(File.pathSeparator));
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            final List<String> options = List.of("-d", classesDirectory.toString(), "-classpath", classPath, "-proc:none", "-nowarn");
+            final boolean compiled = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(sources)).call();
+            if (!compiled) {
+                throw new IllegalStateException("Compilation of the generated sources failed: " + diagnostics.getDiagnostics());
+            }
+        }
+        return new URLClassLoader(new URL[]{classesDirectory.toUri().toURL()}, SourceCompiler.class.getClassLoader());
+    }
+}
@@ -0,0 +1,209 @@
+package io.openepcis.webvocabulary.converter.support;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.jena.rdf.model.*;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFOps;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.apache.jena.vocabulary.SKOS;
+import org.apache.jena.vocabulary.XSD;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates synthetic vocabularies with the same shape as the GS1 Web Vocabulary (classes with superclasses, properties
+ * with direct and union domains, union ranges, TypeCode code lists and linkTypes) at a configurable scale.
+ */
+@Getter
+@Setter
+public class SyntheticVocabularyGenerator {
+
+    public static final String NAMESPACE = "https://example.org/voc/";
+    private static final Property SW_TERM_STATUS = ResourceFactory.createProperty("http://www.w3.org/2003/06/sw-vocab-status/ns#", "term_status");
+
+    // Default sizes roughly match the GS1 Web Vocabulary v1.11
+    private int classes = 50;
+    private int propertiesPerClass = 8;
+    private int unions = 10;
+    private int unionMembers = 3;
+    private int codeLists = 55;
+    private int codesPerList = 20;
+    private int linkTypes = 56;
+    private long seed = 42;
+
+    /**
+     * Method to create a generator for a vocabulary scaled by the provided factor relative to the GS1 Web Vocabulary size
+     *
+     * @param factor multiplier for the number of classes, unions, code lists and linkTypes
+     * @return returns the generator with scaled sizes
+     */
+    public static SyntheticVocabularyGenerator scaled(final int factor) {
+        final SyntheticVocabularyGenerator generator = new SyntheticVocabularyGenerator();
+        generator.setClasses(generator.getClasses() * factor);
+        generator.setUnions(generator.getUnions() * factor);
+        generator.setCodeLists(generator.getCodeLists() * factor);
+        generator.setLinkTypes(generator.getLinkTypes() * factor);
+        return generator;
+    }
+
+    /**
+     * Method to generate the vocabulary as Apache Jena model
+     *
+     * @return returns the model containing the synthetic vocabulary
+     */
+    public Model generate() {
+        final Model model = ModelFactory.createDefaultModel();
+        generate(StreamRDFLib.graph(model.getGraph()));
+        return model;
+    }
+
+    /**
+     * Method to generate the vocabulary onto the stream, the triples are built in small chunks so that vocabularies far
+     * exceeding the heap can be written
+     *
+     * @param stream stream receiving the prefixes and triples of the vocabulary
+     */
+    public void generate(final StreamRDF stream) {
+        final Random random = new Random(seed);
+        final Model model = ModelFactory.createDefaultModel();
+        stream.start();
+        stream.prefix("ex", NAMESPACE);
+        stream.prefix("rdf", RDF.getURI());
+        stream.prefix("rdfs", RDFS.getURI());
+        stream.prefix("owl", OWL.getURI());
+        stream.prefix("skos", SKOS.getURI());
+        stream.prefix("xsd", XSD.getURI());
+        stream.prefix("sw", "http://www.w3.org/2003/06/sw-vocab-status/ns#");
+
+        final Resource typeCode = model.createResource(NAMESPACE + "TypeCode");
+        final Property linkType = model.createProperty(NAMESPACE + "linkType");
+
+        // Classes, every fourth class is a subclass of one of the previous classes to build hierarchies
+        final List<Resource> allClasses = new ArrayList<>(classes);
+        for (int i = 0; i < classes; i++) {
+            final Resource cls = model.createResource(NAMESPACE + "Class" + i)
+                    .addProperty(RDF.type, OWL.Class)
+                    .addProperty(RDF.type, RDFS.Class)
+                    .addProperty(RDFS.label, "Class " + i, "en")
+                    .addProperty(RDFS.comment, "Synthetic class number " + i + " of the vocabulary.", "en")
+                    .addProperty(SW_TERM_STATUS, "stable");
+            cls.addProperty(RDFS.subClassOf, i > 0 && i % 4 == 0 ? allClasses.get(random.nextInt(i)) : OWL.Thing);
+            allClasses.add(cls);
+            flush(model, stream);
+        }
+
+        // Code lists and their codes
+        final List<Resource> allCodeLists = new ArrayList<>(codeLists);
+        for (int i = 0; i < codeLists; i++) {
+            final Resource codeList = model.createResource(NAMESPACE + "Example" + i + "TypeCode")
+                    .addProperty(RDFS.subClassOf, typeCode)
+                    .addProperty(RDFS.label, "Example " + i + " Type Code", "en");
+            allCodeLists.add(codeList);
+
+            for (int j = 0; j < codesPerList; j++) {
+                model.createResource(NAMESPACE + "Example" + i + "TypeCode-CODE_" + j)
+                        .addProperty(RDF.type, codeList)
+                        .addProperty(SKOS.prefLabel, "CODE_" + j)
+                        .addProperty(RDFS.label, "Code " + j, "en")
+                        .addProperty(RDFS.comment, "Synthetic code " + j + " of code list " + i + ".", "en")
+                        .addProperty(SW_TERM_STATUS, j % 10 == 9 ? "deprecated" : "stable");
+            }
+            flush(model, stream);
+        }
+
+        // Union classes used as domain and range of the properties
+        final List<Resource> allUnions = new ArrayList<>(unions);
+        for (int i = 0; i < unions; i++) {
+            final Set<RDFNode> members = new LinkedHashSet<>();
+            while (members.size() < Math.min(unionMembers, classes)) {
+                members.add(allClasses.get(random.nextInt(classes)));
+            }
+            allUnions.add(model.createResource()
+                    .addProperty(RDF.type, OWL.Class)
+                    .addProperty(OWL.unionOf, model.createList(members.iterator())));
+            flush(model, stream);
+        }
+
+        // Properties with a direct or union domain and simple, class, TypeCode or union ranges
+        final int properties = classes * propertiesPerClass;
+        for (int i = 0; i < properties; i++) {
+            final Resource domain = unions > 0 && i % 10 == 0 ? allUnions.get(random.nextInt(unions)) : allClasses.get(i % classes);
+            final Resource range = switch (i % 6) {
+                case 0 -> XSD.xstring;
+                case 1 -> RDF.langString;
+                case 2 -> codeLists > 0 ? allCodeLists.get(random.nextInt(codeLists)) : XSD.xstring;
+                case 3 -> unions > 0 && i % 12 == 3 ? allUnions.get(random.nextInt(unions)) : allClasses.get(random.nextInt(classes));
+                case 4 -> XSD.dateTime;
+                default -> allClasses.get(random.nextInt(classes));
+            };
+            model.createResource(NAMESPACE + "property" + i)
+                    .addProperty(RDF.type, RDF.Property)
+                    .addProperty(RDFS.domain, domain)
+                    .addProperty(RDFS.range, range)
+                    .addProperty(RDFS.label, "Property " + i, "en")
+                    .addProperty(RDFS.comment, "Synthetic property number " + i + ".", "en")
+                    .addProperty(SW_TERM_STATUS, i % 25 == 24 ? "deprecated" : "stable");
+            flush(model, stream);
+        }
+
+        // LinkTypes applicable to all the classes
+        for (int i = 0; i < linkTypes; i++) {
+            model.createResource(NAMESPACE + "link" + i)
+                    .addProperty(RDF.type, RDF.Property)
+                    .addProperty(RDFS.subPropertyOf, linkType)
+                    .addProperty(RDFS.domain, OWL.Thing)
+                    .addProperty(RDFS.range, XSD.anyURI)
+                    .addProperty(RDFS.label, "Link " + i, "en")
+                    .addProperty(RDFS.comment, "Synthetic link type number " + i + ".", "en")
+                    .addProperty(SW_TERM_STATUS, "stable");
+            flush(model, stream);
+        }
+        stream.finish();
+    }
+
+    // Send the triples built so far to the stream, the resources referenced later on remain valid as they are identified by their nodes
+    private static void flush(final Model model, final StreamRDF stream) {
+        StreamRDFOps.sendTriplesToStream(model.getGraph(), stream);
+        model.removeAll();
+    }
+
+    /**
+     * Method to generate the vocabulary and write it in the provided syntax
+     *
+     * @param outputStream stream onto which the vocabulary is written
+     * @param lang         syntax of the vocabulary such as Lang.JSONLD or Lang.NTRIPLES
+     */
+    public void write(final OutputStream outputStream, final Lang lang) {
+        // Syntaxes such as N-Triples are written while generating, the others require the complete model
+        if (StreamRDFWriter.registered(lang)) {
+            generate(StreamRDFWriter.getWriterStream(outputStream, lang));
+        } else {
+            RDFDataMgr.write(outputStream, generate(), lang);
+        }
+    }
+
+    /**
+     * Method to generate the vocabulary and return it in the provided syntax
+     *
+     * @param lang syntax of the vocabulary such as Lang.JSONLD or Lang.NTRIPLES
+     * @return returns the serialized vocabulary
+     */
+    public byte[] toByteArray(final Lang lang) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        write(outputStream, lang);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,53 @@
+package io.openepcis.webvocabulary.converter.support;
+
+import com.sun.tools.xjc.Driver;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Generates the JAXB classes of an XSD built at runtime using xjc in-process and loads them, so that the XSDs of the
+ * individual configurations can be unmarshalled without a separate build. The xml namespace schema is resolved from the
+ * test resources through a catalog instead of the network.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class XjcCompiler {
+
+    /**
+     * Method to generate the JAXB classes of the XSD into the package and compile them
+     *
+     * @param xsdFile     generated XSD
+     * @param packageName package of the generated classes, distinct per XSD as the class loaders share the JAXB runtimes
+     * @param directory   working directory for the catalog, the sources and the classes
+     * @return returns the class loader of the compiled classes
+     * @throws Exception exception during the generation or the compilation of the classes
+     */
+    public static ClassLoader compile(final File xsdFile, final String packageName, final Path directory) throws Exception {
+        final Path sourceDirectory = Files.createDirectories(directory.resolve("sources"));
+        final Path xmlSchema = directory.resolve("xml.xsd");
+        try (final InputStream inputStream = XjcCompiler.class.getResourceAsStream("/xml.xsd")) {
+            Files.copy(inputStream, xmlSchema, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        final Path catalog = directory.resolve("catalog.xml");
+        Files.writeString(catalog, "<catalog xmlns=\"urn:oasis:names:tc:entity:xmlns:xml:catalog\">"
+                + "<system systemId=\"https://www.w3.org/2001/xml.xsd\" uri=\"" + xmlSchema.toUri() + "\"/></catalog>");
+
+        final ByteArrayOutputStream messages = new ByteArrayOutputStream();
+        final String[] arguments = {"-quiet", "-npa", "-no-header", "-catalog", catalog.toString(), "-d", sourceDirectory.toString(),
+                "-p", packageName, xsdFile.getPath()};
+        if (Driver.run(arguments, new PrintStream(OutputStream.nullOutputStream()), new PrintStream(messages, true, StandardCharsets.UTF_8)) != 0) {
+            throw new IllegalStateException("Generation of the JAXB classes failed: " + messages.toString(StandardCharsets.UTF_8));
+        }
+        return SourceCompiler.compile(sourceDirectory, directory.resolve("classes"));
+    }
+}
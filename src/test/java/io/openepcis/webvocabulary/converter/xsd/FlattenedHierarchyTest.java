@@ -0,0 +1,147 @@
+package io.openepcis.webvocabulary.converter.xsd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.model.ClassDefinition;
+import io.openepcis.webvocabulary.converter.model.PropertyDefinition;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import io.openepcis.webvocabulary.converter.support.LocalSchemaFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.stream.StreamSource;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlattenedHierarchyTest {
+
+    private static final String INSTANCE = "<Derived id=\"https://example.com/1\"><name>Risotto</name><size>3</size></Derived>";
+
+    @TempDir
+    Path tempDirectory;
+
+    private RelationDefinition relationDefinition;
+
+    @BeforeEach
+    void readRelations() throws Exception {
+        relationDefinition = new ObjectMapper().readValue(new File("src/main/resources/schema/JsonLdSchemaRelations.json"), RelationDefinition.class);
+    }
+
+    @Test
+    void flattenInheritedProperties() throws Exception {
+        final Document flattened = parse(generate(relationDefinition, true, "flattened.xsd"));
+
+        // No type is derived from another one apart from the LangString simple content
+        assertEquals(0, flattened.getElementsByTagName("xsd:complexContent").getLength());
+
+        // The flattened type contains the properties of Product followed by its own along with the id attribute
+        final Element complexType = findComplexType(flattened, "FoodBeverageTobaccoProduct");
+        final List<String> elements = elementNames(complexType);
+        final List<String> expected = new ArrayList<>();
+        relationDefinition.getClasses().get("Product").getProperties().forEach(property -> expected.add(property.getProperty()));
+        relationDefinition.getClasses().get("FoodBeverageTobaccoProduct").getProperties().forEach(property -> expected.add(property.getProperty()));
+        assertEquals(expected, elements);
+        assertEquals("id", ((Element) complexType.getElementsByTagName("xsd:attribute").item(0)).getAttribute("name"));
+    }
+
+    @Test
+    void instanceIsValidForBothModes() throws Exception {
+        // Both modes of the GS1 vocabulary compile into valid schemas
+        for (final boolean flattenHierarchy : new boolean[]{false, true}) {
+            final File xsdFile = generate(relationDefinition, flattenHierarchy, "gs1-" + flattenHierarchy + ".xsd");
+            assertDoesNotThrow(() -> LocalSchemaFactory.compile(xsdFile, "FoodBeverageTobaccoProduct"));
+        }
+
+        // The same instance with inherited and own properties is accepted by the derived and the flattened type
+        final RelationDefinition hierarchy = createHierarchy();
+        for (final boolean flattenHierarchy : new boolean[]{false, true}) {
+            final File xsdFile = generate(hierarchy, flattenHierarchy, "hierarchy-" + flattenHierarchy + ".xsd");
+            assertDoesNotThrow(() -> LocalSchemaFactory.compile(xsdFile, "Derived").newValidator()
+                    .validate(new StreamSource(new StringReader(INSTANCE))));
+        }
+    }
+
+    @Test
+    void detectDuplicateProperties() throws Exception {
+        final RelationDefinition hierarchy = createHierarchy();
+        hierarchy.getClasses().put("Derived", classDefinition("Base", property("name", "xsd:string"), property("size", "xsd:integer")));
+
+        // The property redeclared with the same type is emitted only once at its inherited position
+        final Element derived = findComplexType(parse(generate(hierarchy, true, "duplicate.xsd")), "Derived");
+        assertEquals(List.of("name", "size"), elementNames(derived));
+
+        // The property redeclared with a different type cannot be flattened
+        hierarchy.getClasses().put("Derived", classDefinition("Base", property("name", "xsd:integer")));
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> generate(hierarchy, true, "conflict.xsd"));
+        assertTrue(exception.getMessage().contains("name"));
+    }
+
+    private RelationDefinition createHierarchy() {
+        final RelationDefinition hierarchy = new RelationDefinition();
+        hierarchy.setNamespaces(Map.of());
+        hierarchy.setClasses(new LinkedHashMap<>());
+        hierarchy.getClasses().put("Base", classDefinition(null, property("name", "xsd:string")));
+        hierarchy.getClasses().put("Derived", classDefinition("Base", property("size", "xsd:integer")));
+        return hierarchy;
+    }
+
+    private File generate(final RelationDefinition relations, final boolean flattenHierarchy, final String fileName) throws Exception {
+        final XSDGenerator xsdGenerator = new XSDGenerator();
+        xsdGenerator.setFlattenHierarchy(flattenHierarchy);
+        xsdGenerator.setXsdFile(tempDirectory.resolve(fileName).toFile());
+        xsdGenerator.generateXSD(relations);
+        return xsdGenerator.getXsdFile();
+    }
+
+    private Document parse(final File file) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
+    }
+
+    private Element findComplexType(final Document document, final String name) {
+        final NodeList complexTypes = document.getElementsByTagName("xsd:complexType");
+        for (int i = 0; i < complexTypes.getLength(); i++) {
+            final Element complexType = (Element) complexTypes.item(i);
+            if (name.equals(complexType.getAttribute("name"))) {
+                return complexType;
+            }
+        }
+        throw new AssertionError("Type " + name + " is not present");
+    }
+
+    private List<String> elementNames(final Element complexType) {
+        final NodeList elements = complexType.getElementsByTagName("xsd:element");
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < elements.getLength(); i++) {
+            names.add(((Element) elements.item(i)).getAttribute("name"));
+        }
+        return names;
+    }
+
+    private static ClassDefinition classDefinition(final String superClass, final PropertyDefinition... properties) {
+        final ClassDefinition classDefinition = new ClassDefinition();
+        classDefinition.setIsSubclass(superClass != null);
+        classDefinition.setSuperClass(superClass);
+        classDefinition.setProperties(List.of(properties));
+        return classDefinition;
+    }
+
+    private static PropertyDefinition property(final String name, final String rangeType) {
+        final PropertyDefinition property = new PropertyDefinition();
+        property.setProperty(name);
+        property.setRangeType(rangeType);
+        property.setDataType("simple");
+        property.setType("simple");
+        return property;
+    }
+}
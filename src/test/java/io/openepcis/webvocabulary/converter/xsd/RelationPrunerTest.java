@@ -0,0 +1,52 @@
+package io.openepcis.webvocabulary.converter.xsd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.openepcis.webvocabulary.converter.model.RelationDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelationPrunerTest {
+
+    private RelationDefinition relationDefinition;
+
+    @BeforeEach
+    void readRelations() throws IOException {
+        relationDefinition = new ObjectMapper().readValue(new File("src/main/resources/schema/JsonLdSchemaRelations.json"), RelationDefinition.class);
+    }
+
+    @Test
+    void pruneToReachableTypes() {
+        final RelationDefinition pruned = RelationPruner.prune(relationDefinition, Set.of("Place"));
+
+        // Place references Organization, GeoCoordinates/GeoShape union and the GLN_TypeCode
+        assertTrue(pruned.getClasses().keySet().containsAll(Set.of("Place", "Organization", "GeoCoordinates", "GeoShape", "PostalAddress")));
+        assertTrue(pruned.getTypeCodes().containsKey("GLN_TypeCode"));
+        assertFalse(pruned.getClasses().containsKey("Footwear"));
+        assertTrue(pruned.getClasses().size() < relationDefinition.getClasses().size());
+        assertTrue(pruned.getTypeCodes().size() < relationDefinition.getTypeCodes().size());
+    }
+
+    @Test
+    void pruneFollowsSuperClass() {
+        final RelationDefinition pruned = RelationPruner.prune(relationDefinition, Set.of("Footwear"));
+        assertTrue(pruned.getClasses().containsKey("WearableProduct"));
+        assertTrue(pruned.getClasses().containsKey("Product"));
+    }
+
+    @Test
+    void pruneWithoutRootsKeepsAllTypes() {
+        assertSame(relationDefinition, RelationPruner.prune(relationDefinition, Set.of()));
+    }
+
+    @Test
+    void pruneWithUnknownRootFails() {
+        final Set<String> rootClasses = Set.of("UnknownClass");
+        assertThrows(IllegalArgumentException.class, () -> RelationPruner.prune(relationDefinition, rootClasses));
+    }
+}